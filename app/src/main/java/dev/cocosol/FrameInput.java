@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import dev.cocosol.hyperbolic.paving.Paving;
+import dev.cocosol.hyperbolic.transformation.Isometry;
+import dev.cocosol.hyperbolic.transformation.Rotation;
+import dev.cocosol.hyperbolic.transformation.Translation;
+
+/**
+ * The FrameInput class collects the input received between two frames, so that
+ * the frame applies it to the paving at once.
+ *
+ * The input events are received on the event dispatch thread, while the frames
+ * are rendered on their own thread. Instead of moving the paving on every event,
+ * the moves and turns are composed, in the order they came, into a single
+ * motion, which the render thread applies before casting the next frame. Other
+ * actions are queued and run on the render thread, in order.
+ */
+public class FrameInput {
+    // The motion collected since the last frame, or null if there is none.
+    private Isometry motion;
+
+    // The actions queued since the last frame.
+    private List<Runnable> actions = new ArrayList<>();
+
+    /**
+     * Adds a move of the viewer, as {@link Paving#applyMovement} would apply it.
+     *
+     * @param angle    the direction of the move, in radians
+     * @param distance the length of the move
+     */
+    public void move(final double angle, final double distance) {
+        final Point center = Point.fromComplex(Complex.exponent(distance, angle));
+        this.add(new Translation(center).toIsometry());
+    }
+
+    /**
+     * Adds a turn of the viewer, as {@link Paving#applyRotation} would apply it.
+     *
+     * @param angle the angle of the turn, in radians
+     */
+    public void turn(final double angle) {
+        this.add(new Rotation(angle).toIsometry());
+    }
+
+    /**
+     * Adds an isometry after the motion collected so far.
+     *
+     * @param isometry the isometry to apply to the disk
+     */
+    private synchronized void add(final Isometry isometry) {
+        this.motion = this.motion == null ? isometry : isometry.compose(this.motion);
+    }
+
+    /**
+     * Queues an action to run on the render thread before the next frame.
+     *
+     * @param action the action
+     */
+    public synchronized void post(final Runnable action) {
+        this.actions.add(action);
+    }
+
+    /**
+     * Applies the input collected since the last frame: the queued actions, then
+     * the motion of the paving.
+     *
+     * @param paving the paving to move
+     * @return true if anything was applied, false if the last frame is still up
+     *         to date
+     */
+    public boolean applyTo(final Paving paving) {
+        final Isometry motion;
+        final List<Runnable> actions;
+        synchronized (this) {
+            motion = this.motion;
+            actions = this.actions;
+            this.motion = null;
+            if (!actions.isEmpty()) {
+                this.actions = new ArrayList<>();
+            }
+        }
+        for (final Runnable action : actions) {
+            action.run();
+        }
+        if (motion != null) {
+            paving.applyMotion(motion);
+        }
+        return motion != null || !actions.isEmpty();
+    }
+}
@@ -9,7 +9,8 @@ package dev.cocosol;
 import java.awt.DisplayMode;
 import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
-import java.util.ArrayList;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -24,11 +25,13 @@ import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
 import com.jme3.scene.VertexBuffer.Type;
 import com.jme3.system.AppSettings;
 import com.jme3.util.BufferUtils;
 import com.jme3.material.RenderState.FaceCullMode;
 
+import dev.cocosol.hyperbolic.Distance;
 import dev.cocosol.hyperbolic.Projection;
 import dev.cocosol.hyperbolic.paving.Chunk;
 import dev.cocosol.hyperbolic.paving.Paving;
@@ -81,9 +84,35 @@ public class Main extends SimpleApplication {
     Vector3f move = Vector3f.ZERO;
 
     /**
-     * The geometries of the scene, it regroups all the chunks
+     * The geometry of the scene, it regroups all the chunks in a single mesh
      */
-    List<Geometry> geometries = new ArrayList<>();
+    Geometry geometry;
+
+    /**
+     * The mesh of all the chunks, one triangle fan per chunk
+     */
+    Mesh mesh;
+
+    /**
+     * The positions of the vertices of the mesh, rewritten in place
+     */
+    FloatBuffer positions;
+
+    /**
+     * The colors of the vertices of the mesh, rewritten in place
+     */
+    FloatBuffer colors;
+
+    /**
+     * The number of vertices the mesh holds
+     */
+    int vertexCount = -1;
+
+    /**
+     * The vertices of the chunks drawn, one slot per chunk of the neighborhood;
+     * only the chunks entering it are placed when the center chunk changes
+     */
+    TilingVertices vertices = new TilingVertices(this.paving, Main.DEPTH);
 
     /**
      * The action listener, it handles the inputs
@@ -161,59 +190,43 @@ public class Main extends SimpleApplication {
                 "MoveLeft",
                 "MoveUp");
 
-        for (final Chunk chunk : this.paving.getAllNeighbors(Main.DEPTH)) {
-            final List<Point> vertices = new ArrayList<>(chunk.vertices);
-
-            for (int i = 0; i < 4; i++) {
-                vertices.set(i, chunk.vertices.get(i).mul(Main.SCALE));
-            }
-
-            final Vector2f[] quad = new Vector2f[] {
-                    new Vector2f((float) vertices.get(0).x, (float) vertices.get(0).y),
-                    new Vector2f((float) vertices.get(1).x, (float) vertices.get(1).y),
-                    new Vector2f((float) vertices.get(2).x, (float) vertices.get(2).y),
-                    new Vector2f((float) vertices.get(3).x, (float) vertices.get(3).y)
-            };
-
-            final Geometry g = this.createSurfaceFrom2DQuad(quad);
-            this.geometries.add(g);
-            this.rootNode.attachChild(g);
-        }
+        // A single mesh and a single material for the whole tiling, colored per vertex
+        this.mesh = new Mesh();
+        final Material material = new Material(this.assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+        material.setBoolean("VertexColor", true);
+        material.getAdditionalRenderState().setFaceCullMode(FaceCullMode.Off);
+        this.geometry = new Geometry("Tiling", this.mesh);
+        this.geometry.setMaterial(material);
+        this.rootNode.attachChild(this.geometry);
         this.updateGeometry();
     }
 
     /**
-     * Creates a 2D surface geometry.
+     * Allocates the buffers of the mesh for the given number of slots. Each slot
+     * holds a chunk split into a fan of triangles around its first vertex; the
+     * indices only depend on the number of slots, so they are written once.
      *
-     * @param base2D an array of 2D vectors representing the vertices of the base.
-     * @return a Geometry object representing the 2D surface with the specified base.
+     * @param slots the number of slots of the mesh
+     * @param p     the number of vertices of a slot
      */
-    public Geometry createSurfaceFrom2DQuad(final Vector2f[] base2D) {
-        if (base2D.length != 4) {
-            throw new IllegalArgumentException("base2D must contain exactly 4 points");
-        }
-
-        Vector3f[] vertices = new Vector3f[4];
-        for (int i = 0; i < 4; i++) {
-            vertices[i] = new Vector3f(base2D[i].x, 0, base2D[i].y);
+    private void allocate(final int slots, final int p) {
+        final IntBuffer indices = BufferUtils.createIntBuffer(3 * (p - 2) * slots);
+        for (int first = 0; first < p * slots; first += p) {
+            for (int i = 0; i < p - 2; i++) {
+                indices.put(first).put(first + i + 1).put(first + i + 2);
+            }
         }
-
-        int[] indices = {
-            0, 1, 2,
-            0, 2, 3
-        };
-
-        Mesh mesh = new Mesh();
-        mesh.setBuffer(Type.Position, 3, BufferUtils.createFloatBuffer(vertices));
-        mesh.setBuffer(Type.Index, 3, BufferUtils.createIntBuffer(indices));
-        mesh.updateBound();
-
-        Geometry geom = new Geometry("Surface2D", mesh);
-        Material mat = new Material(this.assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
-        mat.getAdditionalRenderState().setFaceCullMode(FaceCullMode.Off);
-        geom.setMaterial(mat);
-
-        return geom;
+        indices.flip();
+
+        this.vertexCount = p * slots;
+        this.positions = BufferUtils.createFloatBuffer(3 * this.vertexCount);
+        this.colors = BufferUtils.createFloatBuffer(4 * this.vertexCount);
+        this.mesh.setBuffer(Type.Position, 3, this.positions);
+        this.mesh.setBuffer(Type.Color, 4, this.colors);
+        this.mesh.setBuffer(Type.Index, 3, indices);
+        // The positions are rewritten while moving, the colors of a slot when it changes chunks
+        this.mesh.getBuffer(Type.Position).setUsage(VertexBuffer.Usage.Dynamic);
+        this.mesh.getBuffer(Type.Color).setUsage(VertexBuffer.Usage.Dynamic);
     }
 
     @Override
@@ -238,41 +251,75 @@ public class Main extends SimpleApplication {
     }
 
     /**
-     * Updates the geometries in the scene based on the current positioning of
-     * chunks.
-     * This version assumes each chunk is represented as a 2D quad (no extrusion).
+     * Updates the mesh of the scene based on the current positioning of chunks.
+     * The vertices are written in place into the buffers of the mesh, which are
+     * only allocated again if the number of vertices changes.
+     *
+     * While the center chunk stays the same, so do the chunks drawn and their
+     * colors: only the positions are written again, from the cached vertices
+     * moved by the view. When the center chunk changes, only the slots whose
+     * chunk changed get a new color. The positions are projected with scalar
+     * arithmetic, so a frame allocates nothing.
      */
     private void updateGeometry() {
-        final List<Chunk> chunks = this.paving.getAllNeighbors(Main.DEPTH);
-        for (int i = 0; i < chunks.size(); i++) {
-            final Chunk chunk = chunks.get(i);
-            final List<Point> vertices = new ArrayList<>(chunk.vertices);
-
-            for (int j = 0; j < 4; j++) {
-                Point p = vertices.get(j);
-                p = switch (Main.projection) {
-                    case KLEIN -> p.toKleinModel();
-                    case GNOMONIC -> p.toGnomonicModel();
-                    default -> p;
-                };
-                p = p.mul(Main.SCALE);
-                vertices.set(j, p);
-            }
+        final TilingVertices.Change change = this.vertices.update();
+        if (change == TilingVertices.Change.NONE) {
+            return;
+        }
 
-            final Vector3f[] base3D = new Vector3f[4];
-            for (int j = 0; j < 4; j++) {
-                base3D[j] = new Vector3f((float) vertices.get(j).x, 0, (float) vertices.get(j).y);
+        final int p = this.vertices.getVerticesPerSlot();
+        if (change == TilingVertices.Change.REBUILT) {
+            final List<Chunk> chunks = this.vertices.getChunks();
+            if (this.vertices.getCount() != this.vertexCount) {
+                this.allocate(chunks.size(), p);
+            }
+            for (int slot = 0; slot < chunks.size(); slot++) {
+                this.putColor(slot, p, chunks.get(slot));
+            }
+            this.colors.clear();
+            this.mesh.getBuffer(Type.Color).updateData(this.colors);
+        } else if (change == TilingVertices.Change.SWAPPED) {
+            final List<Chunk> chunks = this.vertices.getChunks();
+            for (final int slot : this.vertices.getSwapped()) {
+                this.putColor(slot, p, chunks.get(slot));
             }
+            this.colors.clear();
+            this.mesh.getBuffer(Type.Color).updateData(this.colors);
+        }
 
-            final Geometry g = this.geometries.get(i);
-            final Mesh mesh = g.getMesh();
+        final double[] xs = this.vertices.getXs();
+        final double[] ys = this.vertices.getYs();
+        this.positions.clear();
+        for (int i = 0; i < this.vertices.getCount(); i++) {
+            final double x = xs[i];
+            final double y = ys[i];
+            final double squared = x * x + y * y;
+            final double scale = switch (Main.projection) {
+                case KLEIN -> 2 / (1 + squared);
+                // The hyperbolic distance to the center over the Euclidean one
+                case GNOMONIC -> squared == 0 ? 0 : Distance.hyperbolicDistanceToCenter(x, y) / Math.sqrt(squared);
+                default -> 1;
+            };
+            this.positions.put((float) (x * scale) * Main.SCALE).put(0).put((float) (y * scale) * Main.SCALE);
+        }
+        this.positions.flip();
 
-            mesh.setBuffer(Type.Position, 3, BufferUtils.createFloatBuffer(base3D));
-            mesh.updateBound();
+        this.mesh.getBuffer(Type.Position).updateData(this.positions);
+        this.mesh.updateBound();
+        this.geometry.updateModelBound();
+    }
 
-            g.getMaterial().setColor("Color", this.getColorTexture(chunk));
-            g.updateModelBound();
-            g.updateGeometricState();
+    /**
+     * Writes the color of a chunk for all the vertices of its slot.
+     *
+     * @param slot  the slot of the chunk
+     * @param p     the number of vertices of a slot
+     * @param chunk the chunk of the slot, or {@code null} for a free slot
+     */
+    private void putColor(final int slot, final int p, final Chunk chunk) {
+        final ColorRGBA color = chunk == null ? ColorRGBA.BlackNoAlpha : this.getColorTexture(chunk);
+        for (int i = 4 * p * slot; i < 4 * p * (slot + 1); i += 4) {
+            this.colors.put(i, color.r).put(i + 1, color.g).put(i + 2, color.b).put(i + 3, color.a);
         }
     }
 
@@ -280,7 +327,7 @@ public class Main extends SimpleApplication {
      * Calculates a color for the given chunk based on its distance from the
      * center of the screen.
      *
-     * @param vertices the vertices of the chunk as seen on the screen
+     * @param chunk the chunk
      * @return the color for the chunk
      */
     private ColorRGBA getColorTexture(final Chunk chunk) {
@@ -6,24 +6,23 @@
 
 package dev.cocosol;
 
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.event.ComponentAdapter;
-import java.awt.event.ComponentEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
 
 import javax.swing.JFrame;
-import javax.swing.JPanel;
-import javax.swing.SwingUtilities;
 
 import dev.cocosol.caster.Caster;
-import dev.cocosol.hyperbolic.Distance;
+import dev.cocosol.caster.HitBuffer;
+import dev.cocosol.caster.WallRaster;
 import dev.cocosol.hyperbolic.paving.Chunk;
-import dev.cocosol.hyperbolic.paving.Direction;
 import dev.cocosol.hyperbolic.paving.Paving;
 
 /**
@@ -37,6 +36,12 @@ import dev.cocosol.hyperbolic.paving.Paving;
  * such as moving and rotating the paving. The window is resizable while
  * maintaining the aspect ratio
  * of the main rendering area.
+ *
+ * The frames are rendered actively, on their own thread, into the buffers of a
+ * canvas. The input events only collect moves and turns, which the render
+ * thread applies once per frame, so a fast mouse does not queue frames that are
+ * already stale. A frame is only rendered when something changed, and at most
+ * {@link #FRAME_RATE} times per second.
  * </p>
  */
 public class RayCaster {
@@ -61,7 +66,15 @@ public class RayCaster {
      */
     private static final double TARGET_ASPECT_RATIO = 2.0;
 
-    private static int x;
+    /**
+     * The largest number of frames rendered per second.
+     */
+    private static final int FRAME_RATE = 60;
+
+    /**
+     * The distance the viewer moves per key press.
+     */
+    private static final double STEP = 0.01;
 
     /**
      * The main entry point for the application.
@@ -72,210 +85,266 @@ public class RayCaster {
         final Paving paving = new Paving();
         // Initialize Caster with base dimensions, will be updated dynamically
         final Caster caster = new Caster(paving, 1280, 720, RayCaster.SEED);
+        caster.setParallelism(Runtime.getRuntime().availableProcessors());
+        caster.setSubdivision(8);
+        caster.setRotationCache(true);
+        // Walls darker than the last shade of gray are not worth reaching
+        caster.setFogCutoff(RayCaster.FOG_DENSITY, 1 / 255.0);
 
+        final FrameInput input = new FrameInput();
         final JFrame frame = new JFrame("hyper - ray casting");
-        final JPanel panel = RayCaster.createRenderPanel(paving, caster);
+        final Canvas canvas = new Canvas() {
+            // The window system asks for a repaint when the canvas is exposed: the
+            // render thread redraws it with the next frame
+            @Override
+            public void paint(final Graphics g) {
+                input.post(() -> {
+                });
+            }
+
+            @Override
+            public void update(final Graphics g) {
+                this.paint(g);
+            }
+        };
 
         // Set up key listeners for user input.
-        panel.addKeyListener(new KeyAdapter() {
+        canvas.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(final KeyEvent e) {
-                boolean needsRepaint = false;
-
                 // Respond to movement and rotation key events.
                 switch (e.getKeyCode()) {
-                    case KeyEvent.VK_Q, KeyEvent.VK_A, KeyEvent.VK_LEFT -> {
-                        paving.applyMovement(Math.PI, 0.01);
-                        needsRepaint = true;
-                    }
-                    case KeyEvent.VK_D, KeyEvent.VK_RIGHT -> {
-                        paving.applyMovement(0, 0.01);
-                        needsRepaint = true;
-                    }
-                    case KeyEvent.VK_Z, KeyEvent.VK_W, KeyEvent.VK_UP -> {
-                        paving.applyMovement(Math.PI / 2, 0.01);
-                        needsRepaint = true;
-                    }
-                    case KeyEvent.VK_S, KeyEvent.VK_DOWN -> {
-                        paving.applyMovement(-Math.PI / 2, 0.01);
-                        needsRepaint = true;
-                    }
+                    case KeyEvent.VK_Q, KeyEvent.VK_A, KeyEvent.VK_LEFT -> input.move(Math.PI, RayCaster.STEP);
+                    case KeyEvent.VK_D, KeyEvent.VK_RIGHT -> input.move(0, RayCaster.STEP);
+                    case KeyEvent.VK_Z, KeyEvent.VK_W, KeyEvent.VK_UP -> input.move(Math.PI / 2, RayCaster.STEP);
+                    case KeyEvent.VK_S, KeyEvent.VK_DOWN -> input.move(-Math.PI / 2, RayCaster.STEP);
+                    // Switch between one ray per column and the portal rendering
+                    case KeyEvent.VK_P -> input.post(() -> caster.setPortalRendering(!caster.isPortalRendering()));
+                    // Switch between the Poincaré disk and the Klein model traversal
+                    case KeyEvent.VK_K -> input.post(() -> caster.setKleinTraversal(!caster.isKleinTraversal()));
                     default -> {
                         break;
                     }
                 }
-
-                if (needsRepaint) {
-                    panel.repaint();
-                }
             }
         });
 
         // Mouse move event
-        frame.addMouseMotionListener(new MouseAdapter() {
+        canvas.addMouseMotionListener(new MouseAdapter() {
+            // The abscissa of the mouse at the last event
+            private int x;
+
             @Override
             public void mouseMoved(final MouseEvent me) {
-                final int deltaX = me.getX() - RayCaster.x;
-                RayCaster.x = me.getX();
-                paving.applyRotation(deltaX / 150.0);
-                panel.repaint();
+                final int deltaX = me.getX() - this.x;
+                this.x = me.getX();
+                input.turn(deltaX / 150.0);
             }
         });
 
         // Set up the frame properties.
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setSize(1000, 500);
-        frame.add(panel);
+        frame.add(canvas);
         frame.setLocationRelativeTo(null);
         frame.setVisible(true);
-        SwingUtilities.invokeLater(panel::requestFocusInWindow);
-
-        // Add component listener to handle resizing and repaint
-        frame.addComponentListener(new ComponentAdapter() {
-            @Override
-            public void componentResized(final ComponentEvent e) {
-                panel.repaint();
-            }
-        });
+        canvas.requestFocusInWindow();
+
+        // The canvas is drawn by the render thread only
+        frame.setIgnoreRepaint(true);
+        canvas.createBufferStrategy(2);
+        final Thread renderThread = new Thread(new RenderLoop(paving, caster, input, canvas), "ray caster render");
+        renderThread.setDaemon(true);
+        renderThread.start();
     }
 
     /**
-     * Creates and returns a JPanel that renders both the ray-casting view and the
-     * Poincaré disk.
-     *
-     * @param paving the hyperbolic paving to render.
-     * @param caster the ray caster for computing intersections.
-     * @return a JPanel configured for rendering.
+     * The loop rendering the frames into the buffers of the canvas.
      */
-    private static JPanel createRenderPanel(final Paving paving, final Caster caster) {
-        final JPanel panel = new JPanel() {
-            @Override
-            protected void paintComponent(final Graphics g) {
-                super.paintComponent(g);
-                final Graphics2D g2 = (Graphics2D) g;
-
-                final int panelWidth = this.getWidth();
-                final int panelHeight = this.getHeight();
-
-                // Calculate rendering area dimensions maintaining target aspect ratio
-                int renderWidth;
-                int renderHeight;
-                int offsetX = 0;
-                int offsetY = 0;
-
-                final double panelRatio = (double) panelWidth / panelHeight;
+    private static final class RenderLoop implements Runnable {
+        // The paving, only moved by this loop.
+        private final Paving paving;
+
+        // The ray caster for computing intersections.
+        private final Caster caster;
+
+        // The input collected for the next frame.
+        private final FrameInput input;
+
+        // The canvas the frames are shown on.
+        private final Canvas canvas;
+
+        // The hits of the rays, reused from one frame to the next
+        private HitBuffer hits = new HitBuffer(0);
+
+        // The image the walls are drawn into, reused while the render area keeps its size
+        private WallRaster raster;
+
+        // The size of the canvas when the last frame was rendered.
+        private int lastWidth = -1;
+        private int lastHeight = -1;
+
+        /**
+         * Constructs the render loop.
+         *
+         * @param paving the hyperbolic paving to render.
+         * @param caster the ray caster for computing intersections.
+         * @param input  the input collected between the frames.
+         * @param canvas the canvas to render on, with its buffer strategy.
+         */
+        RenderLoop(final Paving paving, final Caster caster, final FrameInput input, final Canvas canvas) {
+            this.paving = paving;
+            this.caster = caster;
+            this.input = input;
+            this.canvas = canvas;
+        }
+
+        /**
+         * Renders a frame whenever the input, the size of the canvas or its buffers
+         * changed, at most {@link RayCaster#FRAME_RATE} times per second.
+         */
+        @Override
+        public void run() {
+            final long period = 1_000_000_000L / RayCaster.FRAME_RATE;
+            final BufferStrategy strategy = this.canvas.getBufferStrategy();
+            long deadline = System.nanoTime();
+            while (this.canvas.isDisplayable()) {
+                final int width = this.canvas.getWidth();
+                final int height = this.canvas.getHeight();
+                boolean changed = this.input.applyTo(this.paving);
+                changed |= width != this.lastWidth || height != this.lastHeight;
+                if (changed && width > 0 && height > 0) {
+                    this.lastWidth = width;
+                    this.lastHeight = height;
+                    this.show(strategy, width, height);
+                }
 
-                if (panelRatio > RayCaster.TARGET_ASPECT_RATIO) {
-                    renderHeight = panelHeight;
-                    renderWidth = (int) (renderHeight * RayCaster.TARGET_ASPECT_RATIO);
-                    offsetX = (panelWidth - renderWidth) / 2;
+                // Wait for the next frame, without catching up on the frames missed
+                deadline += period;
+                final long wait = deadline - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
                 } else {
-                    renderWidth = panelWidth;
-                    renderHeight = (int) (renderWidth / RayCaster.TARGET_ASPECT_RATIO);
-                    offsetY = (panelHeight - renderHeight) / 2;
+                    deadline = System.nanoTime();
                 }
-
-                // Update caster dimensions dynamically based on render area
-                caster.screenWidth = renderWidth;
-                caster.screenHeight = renderHeight;
-
-                // Compute intersection points for each ray based on the current render width
-                final Point[] intersectionPoints = caster.castRay();
-
-                // Fill the entire panel background (handles letter/pillar boxing)
-                g2.setColor(Color.BLACK);
-                g2.fillRect(0, 0, panelWidth, panelHeight);
-
-                for (int i = 0; i < intersectionPoints.length && i < renderWidth; i++) {
-                    if (intersectionPoints[i] == null) {
-                        continue;
+            }
+        }
+
+        /**
+         * Draws a frame into the back buffer and shows it, again if the buffers
+         * were lost meanwhile.
+         *
+         * @param strategy    the buffer strategy of the canvas
+         * @param panelWidth  the width of the canvas
+         * @param panelHeight the height of the canvas
+         */
+        private void show(final BufferStrategy strategy, final int panelWidth, final int panelHeight) {
+            do {
+                do {
+                    final Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        this.draw(g2, panelWidth, panelHeight);
+                    } finally {
+                        g2.dispose();
                     }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+        }
+
+        /**
+         * Draws both the ray-casting view and the Poincaré disk.
+         *
+         * @param g2          the graphics of the back buffer
+         * @param panelWidth  the width of the canvas
+         * @param panelHeight the height of the canvas
+         */
+        private void draw(final Graphics2D g2, final int panelWidth, final int panelHeight) {
+            // Calculate rendering area dimensions maintaining target aspect ratio
+            int renderWidth;
+            int renderHeight;
+            int offsetX = 0;
+            int offsetY = 0;
+
+            final double panelRatio = (double) panelWidth / panelHeight;
+
+            if (panelRatio > RayCaster.TARGET_ASPECT_RATIO) {
+                renderHeight = panelHeight;
+                renderWidth = (int) (renderHeight * RayCaster.TARGET_ASPECT_RATIO);
+                offsetX = (panelWidth - renderWidth) / 2;
+            } else {
+                renderWidth = panelWidth;
+                renderHeight = (int) (renderWidth / RayCaster.TARGET_ASPECT_RATIO);
+                offsetY = (panelHeight - renderHeight) / 2;
+            }
 
-                    // Compute the hyperbolic distance from the viewer to the intersection point.
-                    final double depth = Distance.hyperbolicDistanceToCenter(intersectionPoints[i]);
-
-                    if (depth < 1e-6) {
-                        continue;
-                    }
+            // Update caster dimensions dynamically based on render area
+            this.caster.screenWidth = renderWidth;
+            this.caster.screenHeight = renderHeight;
 
-                    // Calculate apparent height based on hyperbolic distance.
-                    // Scale factor might need adjustment depending on desired vertical FOV relative
-                    // to renderHeight
-                    final double effectiveScaleFactor = RayCaster.PROJECTION_SCALE_FACTOR * (renderHeight / 500.0);
-                    final double projectedHalfHeight = effectiveScaleFactor / (Math.cosh(depth));
-
-                    // Calculate screen Y coordinates relative to the render area center
-                    int yTop = (int) (renderHeight / 2.0 - projectedHalfHeight);
-                    int yBottom = (int) (renderHeight / 2.0 + projectedHalfHeight);
-
-                    // Clamp Y coordinates within the render area height [0, renderHeight]
-                    yTop = Math.max(0, yTop);
-                    yBottom = Math.min(renderHeight, yBottom);
-
-                    // Calculate brightness based on depth using exponential decay.
-                    float brightness = (float) Math.exp(-depth * RayCaster.FOG_DENSITY);
-                    brightness = Math.max(0.0f, Math.min(1.0f, brightness));
-                    g2.setColor(new Color(brightness, brightness, brightness));
-
-                    // Draw the vertical line, offsetting to the correct screen position
-                    final int screenX = i + offsetX;
-                    int screenYTop = yTop + offsetY;
-                    int screenYBottom = yBottom + offsetY;
-
-                    // Ensure drawing happens within the calculated bounds and avoids drawing if
-                    // height is zero or negative
-                    if (screenYBottom > screenYTop) {
-                        screenYTop = Math.max(0, screenYTop);
-                        screenYBottom = Math.min(panelHeight, screenYBottom);
-                        if (screenYBottom > screenYTop) {
-                            g2.drawLine(screenX, screenYTop, screenX, screenYBottom);
-                        }
-                    }
+            // Compute the hits of each ray based on the current render width
+            if (this.hits.capacity < renderWidth) {
+                this.hits = new HitBuffer(renderWidth);
+            }
+            final HitBuffer hits = this.hits;
+            this.caster.castRay(hits, renderWidth);
+
+            // Fill the entire panel background (handles letter/pillar boxing)
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, panelWidth, panelHeight);
+
+            // Draw the walls into the raster and blit it once, offset to the render area
+            if (renderWidth > 0 && renderHeight > 0) {
+                if (this.raster == null || this.raster.width != renderWidth
+                        || this.raster.height != renderHeight) {
+                    this.raster = new WallRaster(renderWidth, renderHeight);
                 }
+                // Scale factor might need adjustment depending on desired vertical FOV relative
+                // to renderHeight
+                final double effectiveScaleFactor = RayCaster.PROJECTION_SCALE_FACTOR * (renderHeight / 500.0);
+                g2.drawImage(this.raster.render(hits, effectiveScaleFactor), offsetX, offsetY, null);
+            }
 
-                // Draw the minimap in the top-right corner relative to panel size
-                final int mapAreaWidth = panelWidth / 6;
-                final int mapAreaHeight = panelHeight / 3;
-                final int mapCenterX = panelWidth - mapAreaWidth / 2 - 15;
-                final int mapCenterY = mapAreaHeight / 2 + 15;
+            // Draw the minimap in the top-right corner relative to panel size
+            final int mapAreaWidth = panelWidth / 6;
+            final int mapAreaHeight = panelHeight / 3;
+            final int mapCenterX = panelWidth - mapAreaWidth / 2 - 15;
+            final int mapCenterY = mapAreaHeight / 2 + 15;
 
-                int scale = Math.min(mapAreaWidth, mapAreaHeight) / 2 - 10;
-                if (scale <= 0) {
-                    scale = 1;
-                }
+            int scale = Math.min(mapAreaWidth, mapAreaHeight) / 2 - 10;
+            if (scale <= 0) {
+                scale = 1;
+            }
 
-                // Draw a filled circle at the center of the minimap
-                g2.setColor(Color.GRAY);
-                g2.fillOval(mapCenterX - scale, mapCenterY - scale, scale * 2, scale * 2);
+            // Draw a filled circle at the center of the minimap
+            g2.setColor(Color.GRAY);
+            g2.fillOval(mapCenterX - scale, mapCenterY - scale, scale * 2, scale * 2);
 
-                g2.setColor(Color.DARK_GRAY);
-                g2.drawOval(mapCenterX - scale, mapCenterY - scale, scale * 2, scale * 2);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawOval(mapCenterX - scale, mapCenterY - scale, scale * 2, scale * 2);
 
-                for (final Chunk chunk : paving.getAllNeighbors(4)) {
-                    for (final Direction direction : Direction.values()) {
-                        if (!chunk.getHash(RayCaster.SEED, direction)) {
-                            continue;
-                        }
+            for (final Chunk chunk : this.paving.getAllNeighbors(4)) {
+                final long walls = chunk.getWallMask(RayCaster.SEED);
+                for (int edge = 0; edge < chunk.getTiling().getP(); edge++) {
+                    if ((walls >>> edge & 1) == 0) {
+                        continue;
+                    }
 
-                        final Point[] wallPoints = chunk.getPointFromDirection(direction);
-                        if (wallPoints == null || wallPoints.length < 2 || wallPoints[0] == null
-                                || wallPoints[1] == null) {
-                            continue;
-                        }
+                    final Point[] wallPoints = chunk.getEdgePoints(edge);
+                    if (wallPoints == null || wallPoints.length < 2 || wallPoints[0] == null
+                            || wallPoints[1] == null) {
+                        continue;
+                    }
 
-                        g2.setColor(Color.BLACK);
-                        final int x1 = (int) (wallPoints[0].x * scale + mapCenterX);
-                        final int y1 = (int) (-wallPoints[0].y * scale + mapCenterY); // Invert Y for screen coordinates
-                        final int x2 = (int) (wallPoints[1].x * scale + mapCenterX);
-                        final int y2 = (int) (-wallPoints[1].y * scale + mapCenterY); // Invert Y
+                    g2.setColor(Color.BLACK);
+                    final int x1 = (int) (wallPoints[0].x * scale + mapCenterX);
+                    final int y1 = (int) (-wallPoints[0].y * scale + mapCenterY); // Invert Y for screen coordinates
+                    final int x2 = (int) (wallPoints[1].x * scale + mapCenterX);
+                    final int y2 = (int) (-wallPoints[1].y * scale + mapCenterY); // Invert Y
 
-                        g2.drawLine(x1, y1, x2, y2);
-                    }
+                    g2.drawLine(x1, y1, x2, y2);
                 }
             }
-        };
-
-        panel.setFocusable(true);
-        return panel;
+        }
     }
 }
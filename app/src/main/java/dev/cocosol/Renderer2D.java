@@ -18,7 +18,6 @@ import javax.swing.SwingUtilities;
 
 import dev.cocosol.hyperbolic.Projection;
 import dev.cocosol.hyperbolic.paving.Chunk;
-import dev.cocosol.hyperbolic.paving.Direction;
 import dev.cocosol.hyperbolic.paving.Paving;
 
 /**
@@ -28,6 +27,18 @@ import dev.cocosol.hyperbolic.paving.Paving;
  * controls to move and rotate the paving.
  */
 public class Renderer2D {
+
+    /**
+     * The size, in pixels, under which a tile is not expanded any further.
+     */
+    private static final double MIN_TILE_PIXELS = Paving.DEFAULT_MIN_PIXELS;
+
+    /**
+     * The number of tiles drawn at most in a frame, which the gnomonic and
+     * half-plane projections always reach.
+     */
+    private static final int MAX_TILES = 1 << 14;
+
     /**
      * The main entry point of the application. It initializes the Paving and
      * JFrame,
@@ -128,10 +139,12 @@ public class Renderer2D {
                 }
                 g2.drawOval(centerX, centerY, 2, 2); // Draw the center point
 
-                // Draw the neighbors of the Paving
-                for (final Chunk chunk : paving.getAllNeighbors(4)) {
-                    for (final Direction direction : Direction.values()) {
-                        final Point[] points = chunk.getPointFromDirection(direction);
+                // Draw the chunks of the Paving down to the pixel size
+                final double pixelsPerUnit = projection == Projection.GNOMONIC ? scale * 0.3 : scale;
+                for (final Chunk chunk : paving.getVisibleChunks(projection, pixelsPerUnit,
+                        Renderer2D.MIN_TILE_PIXELS, Renderer2D.MAX_TILES)) {
+                    for (int edge = 0; edge < chunk.getTiling().getP(); edge++) {
+                        final Point[] points = chunk.getEdgePoints(edge);
 
                         if (projection == Projection.KLEIN) {
                             for (int i = 0; i < points.length; i++) {
@@ -0,0 +1,358 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+import dev.cocosol.hyperbolic.paving.Paving;
+import dev.cocosol.hyperbolic.transformation.Isometry;
+
+/**
+ * The TilingVertices class keeps the vertices of the chunks around the center
+ * of a paving up to date, frame after frame, with as little work as possible.
+ *
+ * Each chunk of the neighborhood kept by the paving owns a slot of the
+ * coordinates, holding its vertices placed relative to the anchor of the
+ * paving. Each frame only applies the isometry of the view to them. When the
+ * center chunk changes, the paving publishes the chunks that entered and left
+ * its neighborhood: the chunks leaving free their slots, and only the chunks
+ * entering are placed, in the free slots. All the chunks are placed again only
+ * when the paving moves its anchor.
+ */
+public class TilingVertices {
+    /**
+     * The kind of change of the vertices after an update.
+     */
+    public enum Change {
+        /**
+         * Nothing moved since the last update.
+         */
+        NONE,
+
+        /**
+         * The same chunks moved: only the coordinates of the vertices changed.
+         */
+        MOVED,
+
+        /**
+         * Some slots changed chunks, listed by {@link TilingVertices#getSwapped()};
+         * the number of slots is the same, and the coordinates changed.
+         */
+        SWAPPED,
+
+        /**
+         * The slots were laid out again.
+         */
+        REBUILT
+    }
+
+    // The paving followed, and the depth of the chunks around its center.
+    private final Paving paving;
+    private final int depth;
+
+    // The chunks entering and leaving the neighborhood since the last update, in
+    // order: true for an entering chunk.
+    private final List<Map.Entry<Chunk, Boolean>> events = new ArrayList<>();
+
+    // The chunk of each slot, null for a free slot, and the slot of each chunk.
+    private Chunk[] slots = new Chunk[0];
+    private final Map<Chunk, Integer> slotOf = new HashMap<>();
+    private int slotCount;
+
+    // The placement each slot was placed with.
+    private Isometry[] placements = new Isometry[0];
+
+    // The free slots, the last one freed on top.
+    private final Deque<Integer> free = new ArrayDeque<>();
+
+    // The slots that changed chunks in the last update.
+    private final List<Integer> swapped = new ArrayList<>();
+
+    // The number of vertices of a chunk.
+    private int p;
+
+    // The center chunk at the last update, or null before the first one.
+    private Chunk center;
+
+    // The isometry of the view the vertices were last seen through, or null.
+    private Isometry view;
+
+    // The scratch arrays of the vertices of a chunk.
+    private double[] chunkXs = new double[0];
+    private double[] chunkYs = new double[0];
+
+    // The vertices placed relative to the anchor, before the view.
+    private double[] placedXs = new double[0];
+    private double[] placedYs = new double[0];
+
+    // The vertices seen through the view, slot after slot.
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+
+    /**
+     * Constructs the vertices of the chunks around the center of a paving.
+     *
+     * @param paving the paving to follow
+     * @param depth  the number of rings of chunks around the center chunk; the
+     *               vertices follow the whole neighborhood kept by the paving,
+     *               which may be deeper
+     */
+    public TilingVertices(final Paving paving, final int depth) {
+        this.paving = paving;
+        this.depth = depth;
+    }
+
+    /**
+     * Brings the vertices up to date with the paving.
+     *
+     * @return how the vertices changed since the last update
+     */
+    public Change update() {
+        if (this.center == null) {
+            this.paving.addNeighborhoodListener(this::record);
+            this.paving.getRings(this.depth);
+            this.layOut(this.paving.getRings(this.paving.getNeighborhoodDepth()));
+            this.see();
+            return Change.REBUILT;
+        }
+
+        // Grows the neighborhood if it was shrunk below the depth, publishing the
+        // rings gained
+        this.paving.getRings(this.depth);
+        final Chunk center = this.paving.centerChunk;
+        if (center != this.center || !this.events.isEmpty()) {
+            final int slotCount = this.slotCount;
+            this.swap();
+            this.center = center;
+            this.see();
+            return this.slotCount != slotCount ? Change.REBUILT
+                    : this.swapped.isEmpty() ? Change.MOVED : Change.SWAPPED;
+        }
+        if (center.getView().get() != this.view) {
+            this.see();
+            return Change.MOVED;
+        }
+        return Change.NONE;
+    }
+
+    /**
+     * Records the chunks entering and leaving the neighborhood of the paving.
+     *
+     * @param added   the chunks that entered the neighborhood
+     * @param removed the chunks that left the neighborhood
+     */
+    private void record(final List<Chunk> added, final List<Chunk> removed) {
+        for (final Chunk chunk : removed) {
+            this.events.add(Map.entry(chunk, false));
+        }
+        for (final Chunk chunk : added) {
+            this.events.add(Map.entry(chunk, true));
+        }
+    }
+
+    /**
+     * Gives a slot to each chunk of the neighborhood, ring by ring from the
+     * center chunk, and places all of them.
+     *
+     * @param rings the rings of the neighborhood
+     */
+    private void layOut(final List<List<Chunk>> rings) {
+        this.events.clear();
+        this.slotOf.clear();
+        this.free.clear();
+        this.slotCount = 0;
+        this.center = this.paving.centerChunk;
+        this.p = this.center.getTiling().getP();
+        this.chunkXs = new double[this.p];
+        this.chunkYs = new double[this.p];
+        for (final List<Chunk> ring : rings) {
+            for (final Chunk chunk : ring) {
+                this.take(chunk);
+            }
+        }
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            this.place(slot);
+        }
+    }
+
+    /**
+     * Applies the recorded changes of the neighborhood: the chunks leaving free
+     * their slots, and only the chunks entering are placed. If the paving moved
+     * its anchor meanwhile, all the chunks are placed again.
+     */
+    private void swap() {
+        this.swapped.clear();
+        final Set<Integer> changed = new HashSet<>();
+        for (final Map.Entry<Chunk, Boolean> event : this.events) {
+            if (event.getValue()) {
+                changed.add(this.take(event.getKey()));
+                continue;
+            }
+            final Integer slot = this.slotOf.remove(event.getKey());
+            if (slot != null) {
+                this.slots[slot] = null;
+                this.free.push(slot);
+                changed.add(slot);
+            }
+        }
+        this.events.clear();
+        this.swapped.addAll(changed);
+
+        // A rebase moves the placements of all the chunks kept: the previous
+        // center chunk witnesses it while it keeps its slot
+        final Integer witness = this.slotOf.get(this.center);
+        if (witness == null || changed.contains(witness)
+                || this.placements[witness] != this.center.getPlacement()) {
+            for (int slot = 0; slot < this.slotCount; slot++) {
+                this.place(slot);
+            }
+            return;
+        }
+        for (final int slot : changed) {
+            this.place(slot);
+        }
+    }
+
+    /**
+     * Gives a slot to a chunk, reusing a free one if there is one.
+     *
+     * @param chunk the chunk entering the neighborhood
+     * @return the slot of the chunk
+     */
+    private int take(final Chunk chunk) {
+        final int slot;
+        if (!this.free.isEmpty()) {
+            slot = this.free.pop();
+        } else {
+            slot = this.slotCount++;
+            if (this.slots.length < this.slotCount) {
+                this.grow(Math.max(2 * this.slots.length, this.slotCount));
+            }
+        }
+        this.slots[slot] = chunk;
+        this.slotOf.put(chunk, slot);
+        return slot;
+    }
+
+    /**
+     * Makes room for more slots, keeping the content of the current ones.
+     *
+     * @param capacity the number of slots to make room for
+     */
+    private void grow(final int capacity) {
+        this.slots = Arrays.copyOf(this.slots, capacity);
+        this.placements = Arrays.copyOf(this.placements, capacity);
+        this.placedXs = Arrays.copyOf(this.placedXs, capacity * this.p);
+        this.placedYs = Arrays.copyOf(this.placedYs, capacity * this.p);
+        this.xs = new double[capacity * this.p];
+        this.ys = new double[capacity * this.p];
+    }
+
+    /**
+     * Caches the vertices of the chunk of a slot placed relative to the anchor.
+     * The vertices of a free slot are all put at the center of the disk, so that
+     * the slot draws nothing.
+     *
+     * @param slot the slot to place
+     */
+    private void place(final int slot) {
+        final int first = slot * this.p;
+        final Chunk chunk = this.slots[slot];
+        if (chunk == null) {
+            Arrays.fill(this.placedXs, first, first + this.p, 0);
+            Arrays.fill(this.placedYs, first, first + this.p, 0);
+            this.placements[slot] = null;
+            return;
+        }
+        this.placements[slot] = chunk.getPlacement();
+        chunk.getPlacedVertices(this.chunkXs, this.chunkYs);
+        System.arraycopy(this.chunkXs, 0, this.placedXs, first, this.p);
+        System.arraycopy(this.chunkYs, 0, this.placedYs, first, this.p);
+    }
+
+    /**
+     * Sees the placed vertices through the current view: a single isometry
+     * applied to each vertex.
+     */
+    private void see() {
+        final Isometry view = this.center.getView().get();
+        final int count = this.getCount();
+        System.arraycopy(this.placedXs, 0, this.xs, 0, count);
+        System.arraycopy(this.placedYs, 0, this.ys, 0, count);
+        view.apply(this.xs, this.ys, count);
+        this.view = view;
+    }
+
+    /**
+     * Returns the chunks of the slots. Their vertices follow each other in the
+     * coordinates, in this order. A free slot holds {@code null}.
+     *
+     * @return the chunks of the slots, as of the last update
+     */
+    public List<Chunk> getChunks() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(this.slots, this.slotCount)));
+    }
+
+    /**
+     * Returns the slots that changed chunks in the last update, when it returned
+     * {@link Change#SWAPPED}.
+     *
+     * @return the indices of the swapped slots
+     */
+    public List<Integer> getSwapped() {
+        return Collections.unmodifiableList(this.swapped);
+    }
+
+    /**
+     * Returns the number of vertices of a chunk, which is also the number of
+     * vertices of a slot.
+     *
+     * @return the number of vertices of a slot
+     */
+    public int getVerticesPerSlot() {
+        return this.p;
+    }
+
+    /**
+     * Returns the total number of vertices.
+     *
+     * @return the number of vertices of all the slots
+     */
+    public int getCount() {
+        return this.slotCount * this.p;
+    }
+
+    /**
+     * Returns the abscissas of the vertices seen through the view. The array is
+     * reused by the next updates and may be longer than the number of vertices.
+     *
+     * @return the abscissas, slot after slot
+     */
+    public double[] getXs() {
+        return this.xs;
+    }
+
+    /**
+     * Returns the ordinates of the vertices seen through the view. The array is
+     * reused by the next updates and may be longer than the number of vertices.
+     *
+     * @return the ordinates, slot after slot
+     */
+    public double[] getYs() {
+        return this.ys;
+    }
+}
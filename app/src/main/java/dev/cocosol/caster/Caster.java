@@ -6,19 +6,65 @@
 
 package dev.cocosol.caster;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.paving.Chunk;
 import dev.cocosol.hyperbolic.paving.Paving;
+import dev.cocosol.hyperbolic.transformation.Isometry;
 
 /**
  * The Caster class handles the ray casting for the Poincaré disk visualization.
  * It creates rays evenly distributed within the Field of View (FOV) and
  * computes
  * their intersection points with the hyperbolic paving.
+ *
+ * The rays are independent of each other, so they can be cast in parallel:
+ * the columns are then split into slices of neighbouring columns handled by
+ * a work-stealing pool. Both modes give the same intersection points.
+ *
+ * Instead of throwing a ray per column, the columns can also be rendered through
+ * portals: the paving is traversed once per slice of columns, which are split
+ * between the edges they cross. Both renderings give the same intersection
+ * points.
+ *
+ * The rays can also be cast only every few columns: neighbouring rays that
+ * went through the same chunks hit the same wall, so the columns between them
+ * are filled from the geodesic of that wall. Elsewhere the span is halved until
+ * the paths agree. The image is the same as with one ray per column.
+ *
+ * When the view only turned about the center of the disk since the last frame,
+ * the columns of the last frame can be reused: a column whose ray, turned back,
+ * falls between two rays of the last frame with the same path hits the same
+ * edge, turned with the view. Only the columns coming into view and the ones
+ * between two different paths are cast again.
+ *
+ * The rays can traverse the chunks in the Klein model instead of the Poincaré
+ * disk: the edges are then straight chords, crossed and intersected exactly.
+ *
+ * When the Vector API is available, adjacent rays can be traced in packets,
+ * one ray per lane, as long as they go through the same chunks. Packets whose
+ * rays diverge are cast one ray at a time, with the same hits.
  */
 public class Caster {
     // Field Of View (in radians) for ray casting.
     public static final double FOV = 2;
 
+    // Number of neighbouring columns cast by a single task in parallel mode.
+    public static final int COLUMNS_PER_TASK = 64;
+
+    // Hyperbolic distance beyond which the rays stop by default.
+    public static final double DEFAULT_MAX_DISTANCE = 6;
+
+    // Largest translation, as the modulus of the entry b of its matrix, still
+    // taken for a pure turn of the view between two frames.
+    private static final double TURN_TOLERANCE = 1e-12;
+
+    // Whether the jdk.incubator.vector module was added to the boot layer, which
+    // the packet tracing needs.
+    private static final boolean VECTOR_API = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
     // Represents the hyperbolic paving (tiled space).
     public Paving paving;
 
@@ -29,6 +75,53 @@ public class Caster {
     // A seed value used for wall determination in the paving.
     public int wallSeed;
 
+    // The pool casting the columns in parallel, or null to cast them sequentially.
+    private ForkJoinPool pool;
+
+    // Whether the columns are rendered through portals instead of one ray each.
+    private boolean portalRendering;
+
+    // The number of columns between two rays cast first, 1 to cast every column.
+    private int subdivision = 1;
+
+    // The hyperbolic distance beyond which the rays stop.
+    private double maxDistance = Caster.DEFAULT_MAX_DISTANCE;
+
+    // The density of the fog darkening the hits written into a hit buffer.
+    private double fogDensity;
+
+    // Whether the columns of the last frame are reused when the view only turned.
+    private boolean rotationCache;
+
+    // Whether the rays traverse the chunks in the Klein model.
+    private boolean kleinTraversal;
+
+    // Whether adjacent rays are traced in packets when the Vector API is available.
+    private boolean packetTracing;
+
+    // The last frame cast, or null.
+    private Frame last;
+
+    // The isometry mapping the center chunk onto the disk in the last frame.
+    private Isometry lastTransform;
+
+    // The unit directions of the rays of the columns, for the last width cast.
+    private double[] directionX = new double[0];
+    private double[] directionY = new double[0];
+
+    // The frame before the last one, whose arrays are reused by the next frame.
+    private Frame spare;
+
+    // The traversal kernel of each thread casting rays.
+    private final ThreadLocal<RayKernel> kernels = ThreadLocal.withInitial(RayKernel::new);
+
+    // The portal caster of each thread rendering columns through portals.
+    private final ThreadLocal<PortalCaster> portals = ThreadLocal.withInitial(PortalCaster::new);
+
+    // The packet kernel of each thread tracing packets, created on first use so
+    // that the Vector API is only loaded if it is available.
+    private final ThreadLocal<PacketKernel> packets = new ThreadLocal<>();
+
     /**
      * Constructs a new Caster.
      *
@@ -44,6 +137,201 @@ public class Caster {
         this.wallSeed = wallSeed;
     }
 
+    /**
+     * Sets the number of threads casting the rays.
+     *
+     * @param parallelism the number of threads; 1 casts the rays sequentially on
+     *                    the calling thread
+     * @throws IllegalArgumentException if the number of threads is not positive
+     */
+    public void setParallelism(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism must be positive");
+        }
+        if (this.pool != null) {
+            this.pool.shutdown();
+        }
+        this.pool = parallelism == 1 ? null : new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns the number of threads casting the rays.
+     *
+     * @return the number of threads, 1 in sequential mode
+     */
+    public int getParallelism() {
+        return this.pool == null ? 1 : this.pool.getParallelism();
+    }
+
+    /**
+     * Sets whether the columns are rendered through portals instead of one ray
+     * each.
+     *
+     * @param portalRendering true to traverse the paving once per slice of
+     *                        columns
+     */
+    public void setPortalRendering(final boolean portalRendering) {
+        this.portalRendering = portalRendering;
+    }
+
+    /**
+     * Returns whether the columns are rendered through portals.
+     *
+     * @return true if the paving is traversed once per slice of columns
+     */
+    public boolean isPortalRendering() {
+        return this.portalRendering;
+    }
+
+    /**
+     * Sets the number of columns between two rays cast first. The columns between
+     * two rays with the same path are filled without casting any ray.
+     *
+     * @param subdivision the number of columns between two rays cast first; 1
+     *                    casts a ray per column
+     * @throws IllegalArgumentException if the subdivision is not positive
+     */
+    public void setSubdivision(final int subdivision) {
+        if (subdivision <= 0) {
+            throw new IllegalArgumentException("The subdivision must be positive");
+        }
+        this.subdivision = subdivision;
+    }
+
+    /**
+     * Returns the number of columns between two rays cast first.
+     *
+     * @return the subdivision, 1 if a ray is cast per column
+     */
+    public int getSubdivision() {
+        return this.subdivision;
+    }
+
+    /**
+     * Sets whether the columns of the last frame are reused when the view only
+     * turned about the center of the disk since then.
+     *
+     * @param rotationCache true to reuse the columns on a pure turn
+     */
+    public void setRotationCache(final boolean rotationCache) {
+        this.rotationCache = rotationCache;
+    }
+
+    /**
+     * Returns whether the columns of the last frame are reused on a pure turn.
+     *
+     * @return true if the columns are reused
+     */
+    public boolean isRotationCache() {
+        return this.rotationCache;
+    }
+
+    /**
+     * Sets whether the rays traverse the chunks in the Klein model, where the
+     * edges are straight chords, instead of approximating the circular edges of
+     * the Poincaré disk by chords. The portal rendering keeps its own traversal.
+     *
+     * @param kleinTraversal true to traverse the chunks in the Klein model
+     */
+    public void setKleinTraversal(final boolean kleinTraversal) {
+        this.kleinTraversal = kleinTraversal;
+    }
+
+    /**
+     * Returns whether the rays traverse the chunks in the Klein model.
+     *
+     * @return true if the edges are crossed in the Klein model
+     */
+    public boolean isKleinTraversal() {
+        return this.kleinTraversal;
+    }
+
+    /**
+     * Sets whether adjacent rays are traced in packets, one ray per lane of the
+     * vectors of the processor. The packets need the {@code jdk.incubator.vector}
+     * module; without it, the rays are cast one by one. The columns filled by a
+     * subdivision are still cast one by one.
+     *
+     * @param packetTracing true to trace adjacent rays in packets
+     */
+    public void setPacketTracing(final boolean packetTracing) {
+        this.packetTracing = packetTracing;
+    }
+
+    /**
+     * Returns whether adjacent rays are traced in packets.
+     *
+     * @return true if packet tracing is enabled and the Vector API is available
+     */
+    public boolean isPacketTracing() {
+        return this.packetTracing && Caster.VECTOR_API;
+    }
+
+    /**
+     * Sets the hyperbolic distance beyond which the rays stop. A ray reaching no
+     * wall within that distance is reported out of range.
+     *
+     * @param maxDistance the maximum distance of the rays
+     * @throws IllegalArgumentException if the distance is not positive and finite
+     */
+    public void setMaxDistance(final double maxDistance) {
+        if (!(maxDistance > 0) || Double.isInfinite(maxDistance)) {
+            throw new IllegalArgumentException("The maximum distance must be positive and finite");
+        }
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Sets the maximum distance of the rays to the distance at which the fog
+     * darkens the walls below a brightness: walls further away could not be seen
+     * anyway. The brightness of the hits written into a {@link HitBuffer} goes
+     * through the same fog.
+     *
+     * @param fogDensity    the density of the fog, whose brightness at a distance
+     *                      {@code d} is {@code exp(-d * fogDensity)}
+     * @param minBrightness the brightness below which a wall is not drawn
+     * @throws IllegalArgumentException if the density is not positive or the
+     *                                  brightness is not strictly between 0 and 1
+     */
+    public void setFogCutoff(final double fogDensity, final double minBrightness) {
+        if (!(fogDensity > 0) || !(minBrightness > 0 && minBrightness < 1)) {
+            throw new IllegalArgumentException("Invalid fog cutoff");
+        }
+        this.setMaxDistance(-Math.log(minBrightness) / fogDensity);
+        this.fogDensity = fogDensity;
+    }
+
+    /**
+     * Returns the density of the fog darkening the hits written into a
+     * {@link HitBuffer}.
+     *
+     * @return the density of the fog, 0 if there is none
+     */
+    public double getFogDensity() {
+        return this.fogDensity;
+    }
+
+    /**
+     * Returns the hyperbolic distance beyond which the rays stop.
+     *
+     * @return the maximum distance of the rays
+     */
+    public double getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    /**
+     * Returns the angle of the ray of a screen column. The rays are distributed
+     * across the FOV, with a half FOV offset and an added PI/2 rotation.
+     *
+     * @param column the index of the column
+     * @param width  the number of screen columns
+     * @return the angle of the ray in radians
+     */
+    static double columnAngle(final int column, final int width) {
+        return Caster.FOV * (0.5 - (column / (double) width)) + Math.PI / 2;
+    }
+
     /**
      * Casts rays from the center of the disk and computes their intersection points
      * with the paving boundaries.
@@ -52,16 +340,402 @@ public class Caster {
      *         disk).
      */
     public Point[] castRay() {
-        final Point[] intersectionPoints = new Point[this.screenWidth];
-        for (int i = 0; i < this.screenWidth; i++) {
-            // Compute the angle of the current ray.
-            // The rays are distributed across the FOV, with a half FOV offset and an added
-            // PI/2 rotation.
-            final double angle = Caster.FOV * (0.5 - (i / (double) this.screenWidth)) + Math.PI / 2;
-            final Ray ray = new Ray(angle, this.wallSeed);
-            // The ray is thrown from the central chunk of the paving
-            intersectionPoints[i] = ray.throwRay(this.paving.centerChunk);
+        final int width = this.screenWidth;
+        final double[] hitX = new double[width];
+        final double[] hitY = new double[width];
+        this.castRay(hitX, hitY, width);
+
+        final Point[] intersectionPoints = new Point[width];
+        for (int i = 0; i < width; i++) {
+            intersectionPoints[i] = new Point(hitX[i], hitY[i]);
         }
         return intersectionPoints;
     }
+
+    /**
+     * Casts rays from the center of the disk and writes their intersection points
+     * with the paving boundaries into the given arrays, one per screen column.
+     * Apart from the tasks of the parallel mode, nothing is allocated.
+     *
+     * @param hitX  the array receiving the abscissas of the intersection points
+     * @param hitY  the array receiving the ordinates of the intersection points
+     * @param width the number of screen columns to cast
+     * @throws IllegalArgumentException if the arrays are shorter than the width
+     */
+    public void castRay(final double[] hitX, final double[] hitY, final int width) {
+        this.castRay(hitX, hitY, null, width);
+    }
+
+    /**
+     * Casts rays from the center of the disk and writes their intersection points
+     * with the paving boundaries into the given arrays, one per screen column,
+     * along with whether each ray hit a wall or went out of range. A ray out of
+     * range stops at the maximum distance.
+     *
+     * @param hitX    the array receiving the abscissas of the intersection points
+     * @param hitY    the array receiving the ordinates of the intersection points
+     * @param hitWall the array receiving whether each ray hit a wall, or
+     *                {@code null}
+     * @param width   the number of screen columns to cast
+     * @throws IllegalArgumentException if the arrays are shorter than the width
+     */
+    public void castRay(final double[] hitX, final double[] hitY, final boolean[] hitWall, final int width) {
+        if (hitX.length < width || hitY.length < width || (hitWall != null && hitWall.length < width)) {
+            throw new IllegalArgumentException("The arrays must hold a hit per column");
+        }
+        this.cast(hitX, hitY, hitWall, null, width);
+    }
+
+    /**
+     * Casts rays from the center of the disk and fills a hit buffer, one entry
+     * per screen column: the intersection point, its depth, brightness and
+     * apparent height, and the edge and chunk where the ray stopped. Apart from
+     * the tasks of the parallel mode, nothing is allocated.
+     *
+     * @param buffer the buffer receiving the hits
+     * @param width  the number of screen columns to cast
+     * @throws IllegalArgumentException if the buffer holds fewer columns than the
+     *                                  width
+     */
+    public void castRay(final HitBuffer buffer, final int width) {
+        if (buffer.capacity < width) {
+            throw new IllegalArgumentException("The buffer must hold a hit per column");
+        }
+        this.cast(buffer.x, buffer.y, buffer.wall, buffer, width);
+    }
+
+    /**
+     * Casts the rays of a frame into arrays already checked.
+     *
+     * @param hitX    the array receiving the abscissas of the intersection points
+     * @param hitY    the array receiving the ordinates of the intersection points
+     * @param hitWall the array receiving whether each ray hit a wall, or
+     *                {@code null}
+     * @param buffer  the buffer receiving the depths and stop edges, or
+     *                {@code null}
+     * @param width   the number of screen columns to cast
+     */
+    private void cast(final double[] hitX, final double[] hitY, final boolean[] hitWall, final HitBuffer buffer,
+            final int width) {
+        // The rays of a frame are all thrown from the same chunk, and share the
+        // chunks they cross
+        final Chunk centerChunk = this.paving.centerChunk;
+        final Isometry transform = this.paving.getPool().getView().get().compose(centerChunk.getPlacement());
+        if (this.directionX.length != width) {
+            this.directionX = new double[width];
+            this.directionY = new double[width];
+            for (int i = 0; i < width; i++) {
+                final double angle = Caster.columnAngle(i, width);
+                this.directionX[i] = Math.cos(angle);
+                this.directionY[i] = Math.sin(angle);
+            }
+        }
+        // The neighbors and walls of the chunks do not depend on the view, so the
+        // cache lives as long as the center chunk, which also outlives any rebase
+        final Frame last = this.last;
+        final TraversalCache cache = last != null && last.centerChunk == centerChunk
+                && last.cache.getWallSeed() == this.wallSeed && last.cache.getMaxDistance() == this.maxDistance
+                        ? last.cache
+                        : new TraversalCache(this.wallSeed, this.maxDistance);
+        final Frame frame = new Frame(cache, centerChunk, width, this.directionX, this.directionY, hitX, hitY,
+                hitWall, buffer, this.fogDensity, this.spare);
+
+        final double turn = this.rotationCache ? this.findTurn(frame, transform) : Double.NaN;
+        if (Double.isNaN(turn)) {
+            this.castRange(frame, 0, width);
+        } else {
+            this.castTurned(frame, turn);
+        }
+
+        this.spare = last;
+        this.last = frame;
+        this.lastTransform = transform;
+    }
+
+    /**
+     * Finds the angle the view turned by since the last frame, if it did not move
+     * otherwise.
+     *
+     * @param frame     the frame being cast
+     * @param transform the isometry mapping the center chunk onto the disk
+     * @return the angle of the turn in radians, or NaN if the last frame cannot
+     *         be reused
+     */
+    private double findTurn(final Frame frame, final Isometry transform) {
+        final Frame last = this.last;
+        if (last == null || last.cache != frame.cache || last.width != frame.width) {
+            return Double.NaN;
+        }
+        final Isometry turn = transform.compose(this.lastTransform.inverse());
+        if (turn.isReflection() || turn.getB().module() > Caster.TURN_TOLERANCE) {
+            return Double.NaN;
+        }
+        // z -> a z / conj(a) turns by twice the argument of a
+        return 2 * turn.getA().getAngle();
+    }
+
+    /**
+     * Casts a frame whose view only turned since the last frame, reusing the
+     * columns of the last frame where possible.
+     *
+     * @param frame the frame being cast
+     * @param turn  the angle the view turned by since the last frame
+     */
+    private void castTurned(final Frame frame, final double turn) {
+        // The ray of column i was thrown at column i + shift in the last frame
+        final double shift = turn * frame.width / Caster.FOV;
+        final double cos = Math.cos(turn);
+        final double sin = Math.sin(turn);
+        int missed = -1;
+        for (int i = 0; i < frame.width; i++) {
+            if (this.reuse(frame, i, shift, cos, sin)) {
+                if (missed >= 0) {
+                    this.castRange(frame, missed, i);
+                    missed = -1;
+                }
+            } else if (missed < 0) {
+                missed = i;
+            }
+        }
+        if (missed >= 0) {
+            this.castRange(frame, missed, frame.width);
+        }
+    }
+
+    /**
+     * Fills a column from the columns of the last frame around its ray, if both
+     * followed the same path.
+     *
+     * @param frame  the frame being cast
+     * @param column the column
+     * @param shift  the offset of the columns of the last frame, in columns
+     * @param cos    the cosine of the turn of the view
+     * @param sin    the sine of the turn of the view
+     * @return true if the column was filled, false if its ray must be cast
+     */
+    private boolean reuse(final Frame frame, final int column, final double shift, final double cos,
+            final double sin) {
+        final int before = (int) Math.floor(column + shift);
+        if (before < 0 || before + 1 >= frame.width) {
+            return false;
+        }
+        final long path = this.last.paths[before];
+        if (path != this.last.paths[before + 1]) {
+            return false;
+        }
+        // The edge where the rays stopped, turned with the view
+        final Frame last = this.last;
+        final double a = cos * last.stopA[before] - sin * last.stopB[before];
+        final double b = sin * last.stopA[before] + cos * last.stopB[before];
+        final double x = cos * last.stopX[before] - sin * last.stopY[before];
+        final double y = sin * last.stopX[before] + cos * last.stopY[before];
+
+        double t = RayKernel.distanceAlong(a, b, frame.dx[column], frame.dy[column]);
+        if ((path & 1) == 0) {
+            final double maxRadius = frame.cache.getMaxRadius();
+            if (t <= maxRadius) {
+                return false;
+            }
+            t = maxRadius;
+        }
+        frame.write(column, t, path, a, b, x, y, last.stopEdge[before], last.stopChunk[before]);
+        return true;
+    }
+
+    /**
+     * Casts a range of columns, in parallel if a pool is set.
+     *
+     * @param frame the frame being cast
+     * @param from  the first column
+     * @param to    the column after the last one
+     */
+    private void castRange(final Frame frame, final int from, final int to) {
+        if (this.pool == null) {
+            this.castColumns(frame, from, to);
+        } else {
+            this.pool.invoke(new Columns(frame, from, to));
+        }
+    }
+
+    /**
+     * Casts the rays of a range of columns, one by one, every few columns or
+     * through portals.
+     *
+     * @param frame the frame being cast
+     * @param from  the first column
+     * @param to    the column after the last one
+     */
+    private void castColumns(final Frame frame, final int from, final int to) {
+        if (this.portalRendering) {
+            this.portals.get().cast(frame, from, to);
+            return;
+        }
+        final RayKernel kernel = this.kernels.get();
+        if (this.subdivision > 1 && to - from > 1) {
+            this.castSubdivided(kernel, frame, from, to);
+            return;
+        }
+        final int packed = this.isPacketTracing() ? this.castPackets(kernel, frame, from, to) : from;
+        for (int i = packed; i < to; i++) {
+            // The ray is thrown from the central chunk of the paving
+            this.castColumn(kernel, frame, i);
+        }
+    }
+
+    /**
+     * Traces the rays of a range of columns in packets of adjacent columns, and
+     * casts the rays of a packet one by one if they diverge.
+     *
+     * @param kernel the traversal kernel of the thread
+     * @param frame  the frame being cast
+     * @param from   the first column
+     * @param to     the column after the last one
+     * @return the first column left after the last whole packet
+     */
+    private int castPackets(final RayKernel kernel, final Frame frame, final int from, final int to) {
+        PacketKernel packet = this.packets.get();
+        if (packet == null) {
+            packet = new PacketKernel();
+            this.packets.set(packet);
+        }
+        final int lanes = PacketKernel.LANES;
+        int i = from;
+        for (; i + lanes <= to; i += lanes) {
+            if (!packet.cast(frame, i, this.kleinTraversal)) {
+                for (int column = i; column < i + lanes; column++) {
+                    this.castColumn(kernel, frame, column);
+                }
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Casts the rays of every few columns of a range, and fills the columns
+     * between them.
+     *
+     * @param kernel the traversal kernel of the thread
+     * @param frame  the frame being cast
+     * @param from   the first column
+     * @param to     the column after the last one, at least two columns after the
+     *               first one
+     */
+    private void castSubdivided(final RayKernel kernel, final Frame frame, final int from, final int to) {
+        int low = from;
+        long lowPath = this.castColumn(kernel, frame, low);
+        while (low < to - 1) {
+            final int high = Math.min(low + this.subdivision, to - 1);
+            final long highPath = this.castColumn(kernel, frame, high);
+            this.fillSpan(kernel, frame, low, lowPath, high, highPath);
+            low = high;
+            lowPath = highPath;
+        }
+    }
+
+    /**
+     * Casts the ray of a single column.
+     *
+     * @param kernel the traversal kernel of the thread
+     * @param frame  the frame being cast
+     * @param column the column
+     * @return the code of the path of the ray
+     */
+    private long castColumn(final RayKernel kernel, final Frame frame, final int column) {
+        final long path = kernel.cast(frame.cache, frame.centerChunk, frame.dx[column], frame.dy[column], frame.hitX,
+                frame.hitY, column, this.kleinTraversal);
+        frame.record(column, path, kernel.stop[0], kernel.stop[1], kernel.stopX, kernel.stopY, kernel.stopEdge,
+                kernel.stopChunk);
+        return path;
+    }
+
+    /**
+     * Fills the columns strictly between two columns already cast. If both rays
+     * followed the same path, the columns between them cross the same edges, and
+     * their hits are computed from the geodesic of the edge where the rays
+     * stopped; otherwise the ray of the middle column is cast and both halves are
+     * filled.
+     *
+     * A column between two rays out of range may reach the last edge within
+     * range, as the distance along an edge is smallest inside it: its ray is then
+     * cast.
+     *
+     * @param kernel   the traversal kernel of the thread
+     * @param frame    the frame being cast
+     * @param low      the first column of the span
+     * @param lowPath  the code of the path of the first column
+     * @param high     the last column of the span
+     * @param highPath the code of the path of the last column
+     */
+    private void fillSpan(final RayKernel kernel, final Frame frame, final int low, final long lowPath,
+            final int high, final long highPath) {
+        if (high - low <= 1) {
+            return;
+        }
+        if (lowPath == highPath) {
+            final boolean wall = (lowPath & 1) != 0;
+            final double maxRadius = frame.cache.getMaxRadius();
+            final double lowA = frame.stopA[low];
+            final double lowB = frame.stopB[low];
+            for (int i = low + 1; i < high; i++) {
+                double t = RayKernel.distanceAlong(lowA, lowB, frame.dx[i], frame.dy[i]);
+                if (!wall) {
+                    if (t <= maxRadius) {
+                        this.castColumn(kernel, frame, i);
+                        continue;
+                    }
+                    t = maxRadius;
+                }
+                frame.writeLike(i, t, low);
+            }
+            return;
+        }
+        final int middle = (low + high) >>> 1;
+        final long middlePath = this.castColumn(kernel, frame, middle);
+        this.fillSpan(kernel, frame, low, lowPath, middle, middlePath);
+        this.fillSpan(kernel, frame, middle, middlePath, high, highPath);
+    }
+
+    /**
+     * A task casting the rays of a range of neighbouring columns, split in halves
+     * until it holds at most {@link #COLUMNS_PER_TASK} columns.
+     */
+    private final class Columns extends RecursiveAction {
+
+        /**
+         * The version of the serialized form inherited from the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The frame the columns are cast in.
+         */
+        private final transient Frame frame;
+
+        /**
+         * The first column of the range.
+         */
+        private final int from;
+
+        /**
+         * The column after the last one of the range.
+         */
+        private final int to;
+
+        Columns(final Frame frame, final int from, final int to) {
+            this.frame = frame;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= Caster.COLUMNS_PER_TASK) {
+                Caster.this.castColumns(this.frame, this.from, this.to);
+                return;
+            }
+            final int middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(new Columns(this.frame, this.from, middle),
+                    new Columns(this.frame, middle, this.to));
+        }
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+
+/**
+ * The Frame class holds the state shared by the columns of a frame being cast:
+ * where the rays are thrown from, and the arrays their hits are written into.
+ *
+ * Besides its hit, each column keeps the code of the path of its ray and the
+ * edge where the ray stopped, so that the next frame can reuse it. The columns
+ * are written by index, so several threads can fill disjoint ranges of columns
+ * at once.
+ */
+final class Frame {
+    // The traversal cache of the frame.
+    final TraversalCache cache;
+
+    // The chunk the rays are thrown from.
+    final Chunk centerChunk;
+
+    // The number of screen columns.
+    final int width;
+
+    // The unit directions of the rays of the columns.
+    final double[] dx;
+    final double[] dy;
+
+    // The arrays receiving the hits, and whether they are on a wall, or null.
+    final double[] hitX;
+    final double[] hitY;
+    final boolean[] hitWall;
+
+    // The buffer receiving the depths and stop edges of the hits, or null.
+    final HitBuffer buffer;
+
+    // The hyperbolic length of the edges, and the density of the fog.
+    final double edgeLength;
+    final double fogDensity;
+
+    // The codes of the paths of the rays.
+    final long[] paths;
+
+    // The coefficients of the geodesics of the edges where the rays stopped.
+    final double[] stopA;
+    final double[] stopB;
+
+    // The first ends of the edges where the rays stopped.
+    final double[] stopX;
+    final double[] stopY;
+
+    // The indices of the edges where the rays stopped, and the encoded addresses
+    // of their chunks.
+    final int[] stopEdge;
+    final long[] stopChunk;
+
+    /**
+     * Constructs the state of a frame.
+     *
+     * @param cache       the traversal cache of the frame
+     * @param centerChunk the chunk the rays are thrown from
+     * @param width       the number of screen columns
+     * @param dx          the abscissas of the unit directions of the columns
+     * @param dy          the ordinates of the unit directions of the columns
+     * @param hitX        the array receiving the abscissas of the hits
+     * @param hitY        the array receiving the ordinates of the hits
+     * @param hitWall     the array receiving whether each ray hit a wall, or
+     *                    {@code null}
+     * @param buffer      the buffer receiving the depths and stop edges, or
+     *                    {@code null}
+     * @param fogDensity  the density of the fog darkening the hits in the buffer
+     * @param spare       a frame no longer used, whose arrays are reused if they
+     *                    are large enough, or {@code null}
+     */
+    Frame(final TraversalCache cache, final Chunk centerChunk, final int width, final double[] dx,
+            final double[] dy, final double[] hitX, final double[] hitY, final boolean[] hitWall,
+            final HitBuffer buffer, final double fogDensity, final Frame spare) {
+        this.cache = cache;
+        this.centerChunk = centerChunk;
+        this.width = width;
+        this.dx = dx;
+        this.dy = dy;
+        this.hitX = hitX;
+        this.hitY = hitY;
+        this.hitWall = hitWall;
+        this.buffer = buffer;
+        this.edgeLength = centerChunk.getTiling().getEdgeLength();
+        this.fogDensity = fogDensity;
+        if (spare != null && spare.paths.length >= width) {
+            this.paths = spare.paths;
+            this.stopA = spare.stopA;
+            this.stopB = spare.stopB;
+            this.stopX = spare.stopX;
+            this.stopY = spare.stopY;
+            this.stopEdge = spare.stopEdge;
+            this.stopChunk = spare.stopChunk;
+        } else {
+            this.paths = new long[width];
+            this.stopA = new double[width];
+            this.stopB = new double[width];
+            this.stopX = new double[width];
+            this.stopY = new double[width];
+            this.stopEdge = new int[width];
+            this.stopChunk = new long[width];
+        }
+    }
+
+    /**
+     * Records the path of a column whose hit is already written, and fills the
+     * buffer of the frame.
+     *
+     * @param column the column
+     * @param path   the code of the path of the ray
+     * @param a      the first coefficient of the geodesic where the ray stopped
+     * @param b      the second coefficient of the geodesic where the ray stopped
+     * @param x      the abscissa of the first end of the edge where the ray
+     *               stopped
+     * @param y      the ordinate of the first end of the edge where the ray
+     *               stopped
+     * @param edge   the index of the edge where the ray stopped
+     * @param chunk  the encoded address of the chunk where the ray stopped
+     */
+    void record(final int column, final long path, final double a, final double b, final double x,
+            final double y, final int edge, final long chunk) {
+        if (this.hitWall != null) {
+            this.hitWall[column] = (path & 1) != 0;
+        }
+        this.paths[column] = path;
+        this.stopA[column] = a;
+        this.stopB[column] = b;
+        this.stopX[column] = x;
+        this.stopY[column] = y;
+        this.stopEdge[column] = edge;
+        this.stopChunk[column] = chunk;
+        if (this.buffer != null) {
+            this.buffer.fill(column, edge, chunk, x, y, this.edgeLength, this.fogDensity);
+        }
+    }
+
+    /**
+     * Writes the hit of a column and records its path.
+     *
+     * @param column the column
+     * @param t      the Euclidean distance of the hit along the ray
+     * @param path   the code of the path of the ray
+     * @param a      the first coefficient of the geodesic where the ray stopped
+     * @param b      the second coefficient of the geodesic where the ray stopped
+     * @param x      the abscissa of the first end of the edge where the ray
+     *               stopped
+     * @param y      the ordinate of the first end of the edge where the ray
+     *               stopped
+     * @param edge   the index of the edge where the ray stopped
+     * @param chunk  the encoded address of the chunk where the ray stopped
+     */
+    void write(final int column, final double t, final long path, final double a, final double b, final double x,
+            final double y, final int edge, final long chunk) {
+        this.hitX[column] = t * this.dx[column];
+        this.hitY[column] = t * this.dy[column];
+        this.record(column, path, a, b, x, y, edge, chunk);
+    }
+
+    /**
+     * Writes the hit of a column that stopped on the same edge as another column
+     * of the frame, and records its path.
+     *
+     * @param column the column
+     * @param t      the Euclidean distance of the hit along the ray
+     * @param other  the column already recorded, which stopped on the same edge
+     */
+    void writeLike(final int column, final double t, final int other) {
+        this.write(column, t, this.paths[other], this.stopA[other], this.stopB[other], this.stopX[other],
+                this.stopY[other], this.stopEdge[other], this.stopChunk[other]);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import dev.cocosol.hyperbolic.Distance;
+
+/**
+ * The HitBuffer class receives everything a renderer needs about the hits of a
+ * frame, one entry per screen column, in parallel primitive arrays.
+ *
+ * Besides the intersection point, each column gets its hyperbolic depth and the
+ * quantities derived from it, the edge and the chunk where its ray stopped, and
+ * where along that edge it hit. They are all computed while the frame is cast,
+ * so the renderer only reads them. A buffer is allocated once and reused from
+ * one frame to the next.
+ */
+public final class HitBuffer {
+    // The number of columns the buffer holds.
+    public final int capacity;
+
+    // The coordinates of the intersection points on the Poincaré disk.
+    public final double[] x;
+    public final double[] y;
+
+    // Whether each ray hit a wall, rather than going out of range.
+    public final boolean[] wall;
+
+    // The hyperbolic distance from the center of the disk to the intersection point.
+    public final double[] depth;
+
+    // The apparent height of the wall, 1 / cosh(depth): 1 at the center of the disk.
+    public final double[] heightScale;
+
+    // The brightness of the wall through the fog of the caster, between 0 and 1.
+    public final float[] brightness;
+
+    // The index of the edge where the ray stopped, in the chunk where it stopped.
+    public final int[] edge;
+
+    // The encoded address of the chunk where the ray stopped.
+    public final long[] chunk;
+
+    // The hyperbolic distance from the first end of the edge to the hit, as a
+    // fraction of the length of the edge; 0 for a ray out of range.
+    public final double[] wallCoordinate;
+
+    /**
+     * Constructs a buffer for a number of columns.
+     *
+     * @param capacity the number of columns
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public HitBuffer(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity must not be negative");
+        }
+        this.capacity = capacity;
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.wall = new boolean[capacity];
+        this.depth = new double[capacity];
+        this.heightScale = new double[capacity];
+        this.brightness = new float[capacity];
+        this.edge = new int[capacity];
+        this.chunk = new long[capacity];
+        this.wallCoordinate = new double[capacity];
+    }
+
+    /**
+     * Fills the entries of a column derived from its intersection point, which is
+     * already written.
+     *
+     * @param column     the column
+     * @param edge       the index of the edge where the ray stopped
+     * @param chunk      the encoded address of the chunk where the ray stopped
+     * @param vertexX    the abscissa of the first end of the edge
+     * @param vertexY    the ordinate of the first end of the edge
+     * @param edgeLength the hyperbolic length of the edges
+     * @param fogDensity the density of the fog
+     */
+    void fill(final int column, final int edge, final long chunk, final double vertexX, final double vertexY,
+            final double edgeLength, final double fogDensity) {
+        final double x = this.x[column];
+        final double y = this.y[column];
+        final double squared = x * x + y * y;
+        final double depth = Distance.hyperbolicDistanceToCenter(x, y);
+        this.depth[column] = depth;
+        this.heightScale[column] = (1 - squared) / (1 + squared);
+        this.brightness[column] = (float) Math.min(1, Math.exp(-depth * fogDensity));
+        this.edge[column] = edge;
+        this.chunk[column] = chunk;
+        this.wallCoordinate[column] = this.wall[column]
+                ? Distance.hyperbolicDistance(vertexX, vertexY, x, y) / edgeLength
+                : 0;
+    }
+}
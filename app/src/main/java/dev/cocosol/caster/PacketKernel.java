@@ -0,0 +1,193 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The PacketKernel class traverses the paving along a packet of adjacent rays
+ * at once, one ray per lane of the vectors of the processor.
+ *
+ * Adjacent rays nearly always go through the same chunks: the vertices, the
+ * neighbors and the walls of a chunk are then looked up once for the whole
+ * packet, and the edge tests and the distances to the edges are computed in
+ * the lanes. The lanes compute the same expressions as the {@link RayKernel},
+ * so both give the same hits. A packet whose rays leave a chunk through
+ * different edges is given up, and its rays are cast one by one.
+ *
+ * This class needs the {@code jdk.incubator.vector} module. A kernel holds
+ * scratch state, so it must not be shared between threads: each thread uses
+ * its own kernel.
+ */
+final class PacketKernel {
+    // The shape of the vectors: as many lanes as the widest registers hold.
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    // The number of rays in a packet.
+    static final int LANES = PacketKernel.SPECIES.length();
+
+    // The vertices of the current chunk, in the Poincaré disk and in the Klein
+    // model.
+    private double[] xs = new double[8];
+    private double[] ys = new double[8];
+    private double[] kxs = new double[8];
+    private double[] kys = new double[8];
+
+    // The coefficients of the geodesic of the edge being crossed.
+    private final double[] edge = new double[2];
+
+    // The distances along the rays of the packet to the edge being crossed.
+    private final double[] distances = new double[PacketKernel.LANES];
+
+    /**
+     * Casts the rays of a packet of adjacent columns, and writes their hits into
+     * the frame. If the rays diverge, the packet is given up: some of its
+     * columns may already be written, and all of them must be cast again.
+     *
+     * @param frame the frame being cast
+     * @param from  the first column of the packet, followed by {@link #LANES} - 1
+     *              columns
+     * @param klein true to cross the edges as straight chords of the Klein model
+     * @return true if the columns were written, false if the packet was given up
+     */
+    boolean cast(final Frame frame, final int from, final boolean klein) {
+        final DoubleVector dx = DoubleVector.fromArray(PacketKernel.SPECIES, frame.dx, from);
+        final DoubleVector dy = DoubleVector.fromArray(PacketKernel.SPECIES, frame.dy, from);
+        final double maxRadius = frame.cache.getMaxRadius();
+        VectorMask<Double> active = PacketKernel.SPECIES.maskAll(true);
+        Chunk chunk = frame.centerChunk;
+        Chunk previous = null;
+        long path = 0;
+        while (true) {
+            final int p = chunk.getTiling().getP();
+            if (this.xs.length < p) {
+                this.xs = new double[p];
+                this.ys = new double[p];
+                this.kxs = new double[p];
+                this.kys = new double[p];
+            }
+            final double[] xs;
+            final double[] ys;
+            if (klein) {
+                chunk.getKleinVertices(this.kxs, this.kys);
+                xs = this.kxs;
+                ys = this.kys;
+            } else {
+                chunk.getVertices(this.xs, this.ys);
+                xs = this.xs;
+                ys = this.ys;
+            }
+
+            // The rays go on together only if they all leave through the same edge
+            final TraversalCache.Tile tile = frame.cache.get(chunk);
+            int edge = -1;
+            for (int candidate = 0; candidate < p && edge == -1; candidate++) {
+                if (tile.neighbors[candidate].equals(previous)) {
+                    continue;
+                }
+                final int next = (candidate + 1) % p;
+                final VectorMask<Double> crossing = PacketKernel
+                        .crosses(xs[candidate], ys[candidate], xs[next], ys[next], dx, dy).and(active);
+                if (crossing.anyTrue()) {
+                    if (crossing.toLong() != active.toLong()) {
+                        return false;
+                    }
+                    edge = candidate;
+                }
+            }
+            if (edge == -1) {
+                return false;
+            }
+            path = RayKernel.extendPath(path, edge);
+
+            final int next = (edge + 1) % p;
+            if (klein) {
+                RayKernel.kleinChord(xs[edge], ys[edge], xs[next], ys[next], this.edge);
+            } else {
+                RayKernel.geodesic(xs[edge], ys[edge], xs[next], ys[next], this.edge);
+            }
+            final double a = this.edge[0];
+            final double b = this.edge[1];
+            final DoubleVector t;
+            if (Double.isNaN(a)) {
+                t = DoubleVector.zero(PacketKernel.SPECIES);
+            } else if (klein) {
+                // s / (1 + sqrt(1 - s²)) with s = -2 / (a dx + b dy)
+                final DoubleVector s = DoubleVector.broadcast(PacketKernel.SPECIES, -2)
+                        .div(dx.mul(a).add(dy.mul(b)));
+                t = s.div(s.mul(s).neg().add(1).sqrt().add(1));
+            } else {
+                // -half - sqrt(half² - 1) with half = (a dx + b dy) / 2
+                final DoubleVector half = dx.mul(a).add(dy.mul(b)).div(2);
+                final DoubleVector discriminant = half.mul(half).sub(1);
+                if (discriminant.compare(VectorOperators.LT, 0, active).anyTrue()) {
+                    return false;
+                }
+                t = half.neg().sub(discriminant.sqrt());
+            }
+
+            final VectorMask<Double> outOfRange = t.compare(VectorOperators.GT, maxRadius, active);
+            final VectorMask<Double> stopped = (tile.walls >>> edge & 1) != 0 ? active : outOfRange;
+            if (stopped.anyTrue()) {
+                t.intoArray(this.distances, 0);
+                final long code = chunk.encode();
+                final double scale = klein ? RayKernel.toPoincare(xs[edge], ys[edge]) : 1;
+                final double stopX = scale * xs[edge];
+                final double stopY = scale * ys[edge];
+                for (int lane = 0; lane < PacketKernel.LANES; lane++) {
+                    if (!stopped.laneIsSet(lane)) {
+                        continue;
+                    }
+                    if (outOfRange.laneIsSet(lane)) {
+                        frame.write(from + lane, maxRadius, RayKernel.outOfRange(path), a, b, stopX, stopY,
+                                edge, code);
+                    } else {
+                        frame.write(from + lane, this.distances[lane], RayKernel.onWall(path), a, b,
+                                stopX, stopY, edge, code);
+                    }
+                }
+                active = active.andNot(stopped);
+                if (!active.anyTrue()) {
+                    return true;
+                }
+            }
+            previous = chunk;
+            chunk = tile.neighbors[edge];
+        }
+    }
+
+    /**
+     * Checks in each lane whether the segment from the origin to the end of the
+     * ray crosses a segment, with the same expressions as
+     * {@link RayKernel#crosses}.
+     *
+     * @param ax the abscissa of the first end of the segment
+     * @param ay the ordinate of the first end of the segment
+     * @param bx the abscissa of the second end of the segment
+     * @param by the ordinate of the second end of the segment
+     * @param dx the abscissas of the ends of the rays
+     * @param dy the ordinates of the ends of the rays
+     * @return the lanes whose ray crosses the segment
+     */
+    private static VectorMask<Double> crosses(final double ax, final double ay, final double bx, final double by,
+            final DoubleVector dx, final DoubleVector dy) {
+        // ccw(a, 0, d) and ccw(b, 0, d)
+        final VectorMask<Double> sideA = dy.sub(ay).mul(0 - ax)
+                .compare(VectorOperators.GT, dx.sub(ax).mul(0 - ay));
+        final VectorMask<Double> sideB = dy.sub(by).mul(0 - bx)
+                .compare(VectorOperators.GT, dx.sub(bx).mul(0 - by));
+        // ccw(a, b, d) against ccw(a, b, 0)
+        final VectorMask<Double> sideD = dy.sub(ay).mul(bx - ax)
+                .compare(VectorOperators.GT, dx.sub(ax).mul(by - ay));
+        final boolean sideOrigin = RayKernel.ccw(ax, ay, bx, by, 0, 0);
+        return sideA.eq(sideB).not().and(sideOrigin ? sideD.not() : sideD);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import java.util.Arrays;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+
+/**
+ * The PortalCaster class computes the hits of a range of screen columns by
+ * traversing the paving once, instead of once per column.
+ *
+ * The traversal starts in the chunk containing the center of the disk with the
+ * whole range of columns. In each chunk, the columns are split between the edges
+ * they leave the chunk through: the columns leaving through a wall hit it, and
+ * the other ones go on into the neighbor behind the edge, as through a portal.
+ * The cost then depends on the number of edges seen rather than on the number of
+ * columns.
+ *
+ * The columns are split with the same predicates as the {@link RayKernel}, so
+ * both give the same hits. A caster holds scratch state, so it must not be shared
+ * between threads: each thread uses its own caster.
+ */
+public final class PortalCaster {
+    // The abscissas of the vertices of the chunk visited at each step.
+    private double[][] xs = new double[8][8];
+
+    // The ordinates of the vertices of the chunk visited at each step.
+    private double[][] ys = new double[8][8];
+
+    // The unit directions of the columns of the frame being cast.
+    private double[] dx;
+    private double[] dy;
+
+    // The coefficients of the geodesic of the edge being crossed.
+    private final double[] edge = new double[2];
+
+    // The frame being cast.
+    private Frame frame;
+
+    // The Euclidean radius at which the columns go out of range.
+    private double maxRadius;
+
+    /**
+     * Computes the hits of a range of columns of a frame. A column that goes
+     * further than the maximum distance of the traversal cache stops at that
+     * distance, out of range.
+     *
+     * @param frame the frame being cast
+     * @param from  the first column
+     * @param to    the column after the last one
+     */
+    void cast(final Frame frame, final int from, final int to) {
+        if (from >= to) {
+            return;
+        }
+        this.frame = frame;
+        this.dx = frame.dx;
+        this.dy = frame.dy;
+        this.maxRadius = frame.cache.getMaxRadius();
+        try {
+            this.visit(frame.centerChunk, null, 0, 0, from, to);
+        } finally {
+            this.frame = null;
+            this.dx = null;
+            this.dy = null;
+        }
+    }
+
+    /**
+     * Splits a range of columns between the exit edges of a chunk, and follows
+     * them through the edges without walls.
+     *
+     * The edges are visited from the last one to the first one: if rounding lets
+     * a column leave through two edges, the first one is written last, as the
+     * {@link RayKernel} would pick it.
+     *
+     * @param chunk    the chunk the columns went into
+     * @param previous the chunk the columns came from, or {@code null}
+     * @param step     the number of chunks crossed so far
+     * @param path     the code of the path of the columns so far
+     * @param from     the first column
+     * @param to       the column after the last one
+     */
+    private void visit(final Chunk chunk, final Chunk previous, final int step, final long path, final int from,
+            final int to) {
+        final int p = chunk.getTiling().getP();
+        if (step == this.xs.length) {
+            this.xs = Arrays.copyOf(this.xs, 2 * step);
+            this.ys = Arrays.copyOf(this.ys, 2 * step);
+        }
+        if (this.xs[step] == null || this.xs[step].length < p) {
+            this.xs[step] = new double[p];
+            this.ys[step] = new double[p];
+        }
+        final double[] xs = this.xs[step];
+        final double[] ys = this.ys[step];
+        chunk.getVertices(xs, ys);
+
+        final TraversalCache.Tile tile = this.frame.cache.get(chunk);
+        for (int edge = p - 1; edge >= 0; edge--) {
+            if (tile.neighbors[edge].equals(previous)) {
+                continue;
+            }
+            final int next = (edge + 1) % p;
+            final double ax = xs[edge];
+            final double ay = ys[edge];
+            final double bx = xs[next];
+            final double by = ys[next];
+
+            // Whether a column is on the left of each end of the edge only changes
+            // once across the field of view, so the columns of the edge lie
+            // between the two changes, or outside of them
+            final int switchA = this.findSwitch(ax, ay, from, to);
+            final int switchB = this.findSwitch(bx, by, from, to);
+            final int first = Math.min(switchA, switchB);
+            final int second = Math.max(switchA, switchB);
+            final long through = RayKernel.extendPath(path, edge);
+            this.follow(tile, chunk, step, through, edge, ax, ay, bx, by, from, first);
+            this.follow(tile, chunk, step, through, edge, ax, ay, bx, by, first, second);
+            this.follow(tile, chunk, step, through, edge, ax, ay, bx, by, second, to);
+        }
+    }
+
+    /**
+     * Follows a range of columns through an edge if they cross it, either to the
+     * wall on the edge or into the neighbor behind it, unless they go out of range
+     * first. The columns of the range are on the same side of both ends of the
+     * edge, so they all cross it or none does.
+     *
+     * The distance from the center of the disk along an edge is convex, so if both
+     * ends of the range reach the edge within range, all its columns do.
+     *
+     * @param tile  the neighbors and walls of the chunk
+     * @param chunk the chunk the columns are in
+     * @param step  the number of chunks crossed so far
+     * @param path  the code of the path of the columns through the edge
+     * @param edge  the index of the edge
+     * @param ax    the abscissa of the first end of the edge
+     * @param ay    the ordinate of the first end of the edge
+     * @param bx    the abscissa of the second end of the edge
+     * @param by    the ordinate of the second end of the edge
+     * @param from  the first column
+     * @param to    the column after the last one
+     */
+    private void follow(final TraversalCache.Tile tile, final Chunk chunk, final int step, final long path,
+            final int edge, final double ax, final double ay, final double bx, final double by, final int from,
+            final int to) {
+        if (from >= to || !RayKernel.crosses(ax, ay, bx, by, this.dx[from], this.dy[from])) {
+            return;
+        }
+        RayKernel.geodesic(ax, ay, bx, by, this.edge);
+        final double a = this.edge[0];
+        final double b = this.edge[1];
+
+        final long code = chunk.encode();
+        if ((tile.walls >>> edge & 1) != 0) {
+            for (int i = from; i < to; i++) {
+                final double t = RayKernel.distanceAlong(a, b, this.dx[i], this.dy[i]);
+                if (t > this.maxRadius) {
+                    this.frame.write(i, this.maxRadius, RayKernel.outOfRange(path), a, b, ax, ay, edge, code);
+                } else {
+                    this.frame.write(i, t, RayKernel.onWall(path), a, b, ax, ay, edge, code);
+                }
+            }
+            return;
+        }
+
+        final Chunk neighbor = tile.neighbors[edge];
+        if (this.inRange(a, b, from) && this.inRange(a, b, to - 1)) {
+            this.visit(neighbor, chunk, step + 1, path, from, to);
+            return;
+        }
+        // Split the range between the columns going on and the ones going out of range
+        int start = from;
+        while (start < to) {
+            final boolean inRange = this.inRange(a, b, start);
+            int end = start + 1;
+            while (end < to && this.inRange(a, b, end) == inRange) {
+                end++;
+            }
+            if (inRange) {
+                this.visit(neighbor, chunk, step + 1, path, start, end);
+            } else {
+                for (int i = start; i < end; i++) {
+                    this.frame.write(i, this.maxRadius, RayKernel.outOfRange(path), a, b, ax, ay, edge, code);
+                }
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Checks whether a column reaches an edge within range.
+     *
+     * @param a      the first coefficient of the geodesic of the edge
+     * @param b      the second coefficient of the geodesic of the edge
+     * @param column the column
+     * @return true if the column crosses the edge within the maximum distance
+     */
+    private boolean inRange(final double a, final double b, final int column) {
+        return RayKernel.distanceAlong(a, b, this.dx[column], this.dy[column]) <= this.maxRadius;
+    }
+
+    /**
+     * Finds the first column of a range on the other side of a point than the
+     * first column, as seen from the center of the disk.
+     *
+     * @param x    the abscissa of the point
+     * @param y    the ordinate of the point
+     * @param from the first column
+     * @param to   the column after the last one
+     * @return the first column on the other side, or {@code to} if there is none
+     */
+    private int findSwitch(final double x, final double y, final int from, final int to) {
+        final boolean side = RayKernel.ccw(x, y, 0, 0, this.dx[from], this.dy[from]);
+        int low = from + 1;
+        int high = to;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (RayKernel.ccw(x, y, 0, 0, this.dx[middle], this.dy[middle]) == side) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
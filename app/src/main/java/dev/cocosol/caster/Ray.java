@@ -7,19 +7,14 @@
 package dev.cocosol.caster;
 
 import dev.cocosol.Point;
-import dev.cocosol.Segment;
-import dev.cocosol.hyperbolic.Geodesic;
 import dev.cocosol.hyperbolic.paving.Chunk;
-import dev.cocosol.hyperbolic.paving.Direction;
 
 /**
  * The Ray class represents a single ray in the Poincaré disk.
  * It computes its intersection with paving boundaries by propagating
- * through chunks until hitting a wall.
+ * through chunks until hitting a wall, with a {@link RayKernel}.
  */
 public class Ray {
-    // Maximum number of recursive propagation steps.
-    private static final int STEPS = 6;
 
     /**
      * The unit vector representing the ray’s direction (its endpoint on the unit
@@ -42,104 +37,6 @@ public class Ray {
         this.wallSeed = wallSeed;
     }
 
-    /**
-     * Checks if the ray (from the origin to its current end) intersects a given
-     * segment.
-     *
-     * @param segment the segment of the paving to check.
-     * @return true if there is an intersection, false otherwise.
-     */
-    private boolean intersectSegment(final Segment segment) {
-        // Create a segment from the origin to the ray's endpoint and check for
-        // intersection.
-        return (new Segment(new Point(0, 0), this.end)).intersect(segment);
-    }
-
-    /**
-     * Computes the Euclidean distance from the origin along the ray to the point
-     * where it intersects a given geodesic.
-     *
-     * 
-     * The computation solves a quadratic equation:
-     * t² + b*t + c = 0, where t corresponds to the scaling factor along the ray's
-     * endpoint vector. We choose the smaller root (assuming b is negative) so that
-     * the
-     * resulting point lies within the unit circle.
-     * </p>
-     *
-     * @param geodesic the geodesic to compute intersection with.
-     * @return the scaling factor (distance along the ray) for the intersection
-     *         point.
-     */
-    private double euclideanDistanceToGeodesic(final Geodesic geodesic) {
-        final Point center = geodesic.getEuclideanCenter();
-        final double radius = geodesic.getEuclideanRadius();
-
-        // Coefficients for the quadratic equation: t^2 + b*t + c = 0
-        final double b = -2 * (this.end.x * center.x + this.end.y * center.y);
-        final double c = center.x * center.x + center.y * center.y - radius * radius;
-
-        final double discriminant = b * b - 4 * c;
-        if (discriminant < 0) {
-            // No intersection found; this should not happen if the geodesic is valid.
-            throw new RuntimeException("No intersection with geodesic found");
-        }
-        // Return the smaller positive root so that the intersection is inside the unit
-        // circle.
-        return (-b - Math.sqrt(discriminant)) / 2;
-    }
-
-    /**
-     * Computes the point (in Euclidean coordinates on the unit disk) where this ray
-     * intersects the provided geodesic.
-     *
-     * @param geodesic the geodesic to intersect.
-     * @return the intersection point.
-     */
-    private Point intersectionToGeodesic(final Geodesic geodesic) {
-        final double t = this.euclideanDistanceToGeodesic(geodesic);
-        return new Point(t * this.end.x, t * this.end.y);
-    }
-
-    /**
-     * Propagates the ray through chunks until an intersection with a wall is found.
-     *
-     * @param chunk          the current chunk in the paving.
-     * @param remainingSteps the remaining number of propagation steps.
-     * @return the intersection point with a wall.
-     */
-    private Point propagate(final Chunk chunk, final int remainingSteps) {
-        if (remainingSteps == 0) {
-            // Maximum steps reached, return the current end of the ray.
-            return this.end;
-        }
-
-        // Iterate over all possible directions from the chunk.
-        for (final Direction direction : Direction.values()) {
-            // Get the two boundary points of the chunk in the given direction.
-            final Point[] boundaryPoints = chunk.getPointFromDirection(direction);
-
-            // If the ray does not intersect this segment, continue with the next.
-            if (!this.intersectSegment(new Segment(boundaryPoints[0], boundaryPoints[1]))) {
-                continue;
-            }
-
-            // Check if a wall exists in this direction using the chunk's hash and the
-            // wallSeed.
-            if (chunk.getHash(this.wallSeed, direction)) {
-                // If there is a wall, return the intersection point with the geodesic
-                // representing that wall.
-                final Geodesic geodesic = Geodesic.fromTwoPoints(boundaryPoints[0], boundaryPoints[1]);
-                return this.intersectionToGeodesic(geodesic);
-            }
-            // Otherwise, propagate the ray into the neighboring chunk recursively.
-            return this.propagate(chunk.getNeighbors(direction), remainingSteps - 1);
-        }
-
-        // If no segment intersection was found, throw an error.
-        throw new RuntimeException("No intersection found");
-    }
-
     /**
      * Initiates the ray throwing process from the given central chunk.
      *
@@ -147,6 +44,9 @@ public class Ray {
      * @return the intersection point of the ray with a wall.
      */
     public Point throwRay(final Chunk centerChunk) {
-        return this.propagate(centerChunk, Ray.STEPS);
+        final double[] hitX = new double[1];
+        final double[] hitY = new double[1];
+        new RayKernel().cast(new TraversalCache(this.wallSeed), centerChunk, this.end.x, this.end.y, hitX, hitY, 0);
+        return new Point(hitX[0], hitY[0]);
     }
 }
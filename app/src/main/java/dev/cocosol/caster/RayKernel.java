@@ -0,0 +1,371 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+
+/**
+ * The RayKernel class traverses the paving along rays thrown from the center of
+ * the disk, without allocating anything per step.
+ *
+ * The kernel works on primitive coordinates: the vertices of the current chunk
+ * are written into scratch arrays, the edges are tested with orientation
+ * predicates and the walls are intersected with the Euclidean circle of their
+ * geodesic. The neighbors and walls are read from the traversal cache of the
+ * frame. The hits are written into arrays provided by the caller.
+ *
+ * The chunks can also be traversed in the Klein model, where the geodesics are
+ * straight chords of the disk. The vertices are placed directly in the Klein
+ * model, the edges are crossed and intersected exactly with linear tests, and
+ * only the hit and the stop edge are brought back to the Poincaré disk.
+ *
+ * In the Poincaré disk, the edges are crossed with the same tests on the chords
+ * between the vertices. These chords only approximate the circular edges, so
+ * rays passing close to a vertex may pick a neighbouring edge.
+ *
+ * A kernel holds scratch state, so it must not be shared between threads: each
+ * thread uses its own kernel.
+ */
+public final class RayKernel {
+    // The odd multiplier mixing the crossed edges into the code of a path.
+    private static final long PATH_MIX = 0x9E3779B97F4A7C15L;
+
+    // The abscissas of the vertices of the current chunk.
+    private double[] xs = new double[8];
+
+    // The ordinates of the vertices of the current chunk.
+    private double[] ys = new double[8];
+
+    // The vertices of the current chunk in the Klein model.
+    private double[] kxs = new double[8];
+    private double[] kys = new double[8];
+
+    // The coefficients of the geodesic of the edge where the last ray stopped.
+    final double[] stop = new double[2];
+
+    // The first end of the edge where the last ray stopped.
+    double stopX;
+    double stopY;
+
+    // The index of the edge where the last ray stopped, and the encoded address
+    // of its chunk.
+    int stopEdge;
+    long stopChunk;
+
+    /**
+     * Throws a ray from the center of the disk and writes where it hits a wall.
+     * A ray that goes further than the maximum distance of the traversal cache
+     * stops at that distance, out of range.
+     *
+     * The returned code identifies the path of the ray: the edges it crossed, and
+     * whether it ended on a wall, which sets the lowest bit of the code. Two rays
+     * of the same frame with the same code went through the same chunks, and so
+     * did all the rays between them; if both went out of range, a ray between
+     * them may still reach further. The coefficients of the geodesic of the edge
+     * where the ray stopped are left in {@link #stop}, and its first end, index
+     * and chunk in {@link #stopX}, {@link #stopY}, {@link #stopEdge} and
+     * {@link #stopChunk}.
+     *
+     * @param cache       the traversal cache of the frame
+     * @param centerChunk the chunk containing the center of the disk
+     * @param dx          the abscissa of the unit direction of the ray
+     * @param dy          the ordinate of the unit direction of the ray
+     * @param hitX        the array receiving the abscissa of the hit
+     * @param hitY        the array receiving the ordinate of the hit
+     * @param index       the index of the hit in the arrays
+     * @return the code of the path of the ray
+     */
+    public long cast(final TraversalCache cache, final Chunk centerChunk, final double dx, final double dy,
+            final double[] hitX, final double[] hitY, final int index) {
+        return this.cast(cache, centerChunk, dx, dy, hitX, hitY, index, false);
+    }
+
+    /**
+     * Throws a ray from the center of the disk and writes where it hits a wall,
+     * traversing the chunks either in the Poincaré disk or in the Klein model.
+     *
+     * @param cache       the traversal cache of the frame
+     * @param centerChunk the chunk containing the center of the disk
+     * @param dx          the abscissa of the unit direction of the ray
+     * @param dy          the ordinate of the unit direction of the ray
+     * @param hitX        the array receiving the abscissa of the hit
+     * @param hitY        the array receiving the ordinate of the hit
+     * @param index       the index of the hit in the arrays
+     * @param klein       true to cross the edges as straight chords of the Klein
+     *                    model
+     * @return the code of the path of the ray
+     * @see #cast(TraversalCache, Chunk, double, double, double[], double[], int)
+     */
+    public long cast(final TraversalCache cache, final Chunk centerChunk, final double dx, final double dy,
+            final double[] hitX, final double[] hitY, final int index, final boolean klein) {
+        final double maxRadius = cache.getMaxRadius();
+        Chunk chunk = centerChunk;
+        Chunk previous = null;
+        long path = 0;
+        while (true) {
+            final int p = chunk.getTiling().getP();
+            if (this.xs.length < p) {
+                this.xs = new double[p];
+                this.ys = new double[p];
+                this.kxs = new double[p];
+                this.kys = new double[p];
+            }
+            final double[] xs;
+            final double[] ys;
+            if (klein) {
+                chunk.getKleinVertices(this.kxs, this.kys);
+                xs = this.kxs;
+                ys = this.kys;
+            } else {
+                chunk.getVertices(this.xs, this.ys);
+                xs = this.xs;
+                ys = this.ys;
+            }
+
+            final TraversalCache.Tile tile = cache.get(chunk);
+            final int edge = RayKernel.findExitEdge(tile, previous, xs, ys, p, dx, dy);
+            if (edge == -1) {
+                throw new IllegalStateException("No intersection found");
+            }
+            path = RayKernel.extendPath(path, edge);
+
+            final int next = (edge + 1) % p;
+            final double t;
+            if (klein) {
+                t = RayKernel.kleinDistanceAlong(xs[edge], ys[edge], xs[next], ys[next], dx, dy, this.stop);
+            } else {
+                RayKernel.geodesic(xs[edge], ys[edge], xs[next], ys[next], this.stop);
+                t = RayKernel.distanceAlong(this.stop[0], this.stop[1], dx, dy);
+            }
+            final boolean wall = (tile.walls >>> edge & 1) != 0;
+            if (t > maxRadius || wall) {
+                final double scale = klein ? RayKernel.toPoincare(xs[edge], ys[edge]) : 1;
+                this.stopX = scale * xs[edge];
+                this.stopY = scale * ys[edge];
+                this.stopEdge = edge;
+                this.stopChunk = chunk.encode();
+            }
+            if (t > maxRadius) {
+                // The ray leaves the range before reaching the edge.
+                hitX[index] = maxRadius * dx;
+                hitY[index] = maxRadius * dy;
+                return RayKernel.outOfRange(path);
+            }
+            if (wall) {
+                hitX[index] = t * dx;
+                hitY[index] = t * dy;
+                return RayKernel.onWall(path);
+            }
+            previous = chunk;
+            chunk = tile.neighbors[edge];
+        }
+    }
+
+    /**
+     * Adds an edge crossed by a ray to the code of its path.
+     *
+     * @param path the code of the path so far, 0 in the chunk the ray is thrown
+     *             from
+     * @param edge the index of the edge crossed
+     * @return the code of the path through the edge
+     */
+    static long extendPath(final long path, final int edge) {
+        return (path + edge + 1) * RayKernel.PATH_MIX;
+    }
+
+    /**
+     * Returns the code of a path ending on a wall, whose lowest bit is set.
+     *
+     * @param path the code of the path up to the wall
+     * @return the code of the path of a ray hitting the wall
+     */
+    static long onWall(final long path) {
+        return path * RayKernel.PATH_MIX | 1;
+    }
+
+    /**
+     * Returns the code of a path going out of range, whose lowest bit is clear.
+     *
+     * @param path the code of the path up to the edge out of range
+     * @return the code of the path of a ray going out of range
+     */
+    static long outOfRange(final long path) {
+        return path & ~1L;
+    }
+
+    /**
+     * Finds the edge through which the ray leaves the current chunk: the first
+     * edge crossed by the segment from the center of the disk to the end of the
+     * ray, apart from the edge the ray came in through.
+     *
+     * @param tile     the neighbors and walls of the current chunk
+     * @param previous the chunk the ray came from, or {@code null} in the chunk
+     *                 the ray is thrown from
+     * @param xs       the abscissas of the vertices of the current chunk
+     * @param ys       the ordinates of the vertices of the current chunk
+     * @param p        the number of vertices of the current chunk
+     * @param dx       the abscissa of the end of the ray
+     * @param dy       the ordinate of the end of the ray
+     * @return the index of the exit edge, or -1 if there is none
+     */
+    private static int findExitEdge(final TraversalCache.Tile tile, final Chunk previous, final double[] xs,
+            final double[] ys, final int p, final double dx, final double dy) {
+        for (int edge = 0; edge < p; edge++) {
+            final int next = (edge + 1) % p;
+            if (RayKernel.crosses(xs[edge], ys[edge], xs[next], ys[next], dx, dy)
+                    && !tile.neighbors[edge].equals(previous)) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the segment from the origin to the end of the ray crosses a
+     * segment, with the same predicates as {@code Segment.intersect}.
+     *
+     * @param ax the abscissa of the first end of the segment
+     * @param ay the ordinate of the first end of the segment
+     * @param bx the abscissa of the second end of the segment
+     * @param by the ordinate of the second end of the segment
+     * @param dx the abscissa of the end of the ray
+     * @param dy the ordinate of the end of the ray
+     * @return true if the two segments cross
+     */
+    static boolean crosses(final double ax, final double ay, final double bx, final double by,
+            final double dx, final double dy) {
+        return RayKernel.ccw(ax, ay, 0, 0, dx, dy) != RayKernel.ccw(bx, by, 0, 0, dx, dy)
+                && RayKernel.ccw(ax, ay, bx, by, 0, 0) != RayKernel.ccw(ax, ay, bx, by, dx, dy);
+    }
+
+    /**
+     * Returns whether three points are in counter-clockwise order.
+     */
+    static boolean ccw(final double ax, final double ay, final double bx, final double by,
+            final double cx, final double cy) {
+        return (cy - ay) * (bx - ax) > (by - ay) * (cx - ax);
+    }
+
+    /**
+     * Computes the coefficients of the geodesic through two points: the geodesic
+     * is the circle {@code x² + y² + a x + b y + 1 = 0}. A geodesic through the
+     * origin is a diameter, whose coefficients are NaN.
+     *
+     * @param ux           the abscissa of the first point
+     * @param uy           the ordinate of the first point
+     * @param vx           the abscissa of the second point
+     * @param vy           the ordinate of the second point
+     * @param coefficients the array receiving {@code a} and {@code b}
+     */
+    static void geodesic(final double ux, final double uy, final double vx, final double vy,
+            final double[] coefficients) {
+        final double det = ux * vy - uy * vx;
+        if (Math.abs(det) < 0.000001) {
+            coefficients[0] = Double.NaN;
+            coefficients[1] = Double.NaN;
+            return;
+        }
+        final double u = -1 - ux * ux - uy * uy;
+        final double v = -1 - vx * vx - vy * vy;
+        coefficients[0] = (u * vy - v * uy) / det;
+        coefficients[1] = (v * ux - u * vx) / det;
+    }
+
+    /**
+     * Returns the factor bringing a point of the Klein model back to the Poincaré
+     * disk: {@code z = k / (1 + sqrt(1 - |k|²))}.
+     *
+     * @param kx the abscissa of the point in the Klein model
+     * @param ky the ordinate of the point in the Klein model
+     * @return the factor to multiply the coordinates of the point by
+     */
+    static double toPoincare(final double kx, final double ky) {
+        return 1 / (1 + Math.sqrt(1 - kx * kx - ky * ky));
+    }
+
+    /**
+     * Computes the Euclidean distance from the origin along the ray to a geodesic
+     * given by two of its points in the Klein model, and writes the coefficients
+     * of the geodesic in the Poincaré disk.
+     *
+     * In the Klein model the geodesic is the chord {@code a x + b y = -2}, the
+     * polar of the center of its circle in the Poincaré disk, so the ray meets it
+     * at {@code s = -2 / (a dx + b dy)}; the distance is brought back to the
+     * Poincaré disk by {@code s / (1 + sqrt(1 - s²))}. A diameter meets the ray at
+     * the origin, and its coefficients are NaN.
+     *
+     * @param ux           the abscissa of the first point in the Klein model
+     * @param uy           the ordinate of the first point in the Klein model
+     * @param vx           the abscissa of the second point in the Klein model
+     * @param vy           the ordinate of the second point in the Klein model
+     * @param dx           the abscissa of the unit direction of the ray
+     * @param dy           the ordinate of the unit direction of the ray
+     * @param coefficients the array receiving {@code a} and {@code b}
+     * @return the distance along the ray to the geodesic in the Poincaré disk
+     */
+    static double kleinDistanceAlong(final double ux, final double uy, final double vx, final double vy,
+            final double dx, final double dy, final double[] coefficients) {
+        RayKernel.kleinChord(ux, uy, vx, vy, coefficients);
+        if (Double.isNaN(coefficients[0])) {
+            return 0;
+        }
+        final double s = -2 / (coefficients[0] * dx + coefficients[1] * dy);
+        return s / (1 + Math.sqrt(1 - s * s));
+    }
+
+    /**
+     * Computes the coefficients of the geodesic through two points given in the
+     * Klein model: the geodesic is the chord {@code a x + b y = -2}, and the
+     * circle {@code x² + y² + a x + b y + 1 = 0} in the Poincaré disk. A diameter
+     * has NaN coefficients.
+     *
+     * @param ux           the abscissa of the first point in the Klein model
+     * @param uy           the ordinate of the first point in the Klein model
+     * @param vx           the abscissa of the second point in the Klein model
+     * @param vy           the ordinate of the second point in the Klein model
+     * @param coefficients the array receiving {@code a} and {@code b}
+     */
+    static void kleinChord(final double ux, final double uy, final double vx, final double vy,
+            final double[] coefficients) {
+        // The chord is (uy - vy) x + (vx - ux) y = -det
+        final double det = ux * vy - uy * vx;
+        if (Math.abs(det) < 0.000001) {
+            coefficients[0] = Double.NaN;
+            coefficients[1] = Double.NaN;
+            return;
+        }
+        coefficients[0] = 2 * (uy - vy) / det;
+        coefficients[1] = 2 * (vx - ux) / det;
+    }
+
+    /**
+     * Computes the Euclidean distance from the origin along the ray to a geodesic
+     * given by its coefficients.
+     *
+     * The distance {@code t} solves {@code t² + (a dx + b dy) t + 1 = 0}; the
+     * smaller root lies inside the unit disk. A diameter meets the ray at the
+     * origin.
+     *
+     * @param a  the first coefficient of the geodesic
+     * @param b  the second coefficient of the geodesic
+     * @param dx the abscissa of the unit direction of the ray
+     * @param dy the ordinate of the unit direction of the ray
+     * @return the distance along the ray to the geodesic
+     */
+    static double distanceAlong(final double a, final double b, final double dx, final double dy) {
+        if (Double.isNaN(a)) {
+            return 0;
+        }
+        final double half = (a * dx + b * dy) / 2;
+        final double discriminant = half * half - 1;
+        if (discriminant < 0) {
+            // No intersection found; this should not happen if the geodesic is valid.
+            throw new IllegalStateException("No intersection with geodesic found");
+        }
+        return -half - Math.sqrt(discriminant);
+    }
+}
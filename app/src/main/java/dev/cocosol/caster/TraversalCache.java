@@ -0,0 +1,174 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+
+/**
+ * The TraversalCache class remembers the neighbors and the walls of the chunks
+ * crossed by the rays thrown from a center chunk.
+ *
+ * Neighbouring rays cross almost the same chunks: the first ray reaching a
+ * chunk looks up all its neighbors and wall flags at once, and the later rays
+ * read them back, in the same frame or the following ones. The neighbors and
+ * walls do not depend on the view, so the caster keeps a cache across frames
+ * for as long as the center chunk, the wall seed and the maximum distance stay
+ * the same, and starts a new one when any of them changes. The paving only
+ * moves its anchor when the center chunk changes, so a kept cache never holds
+ * the chunks of another anchor.
+ *
+ * The cache can be read by several threads at once, and each chunk is looked
+ * up a single time however many rays cross it.
+ */
+public final class TraversalCache {
+
+    /**
+     * The neighbors and walls of a chunk.
+     */
+    static final class Tile {
+
+        /**
+         * The neighbors of the chunk, indexed by edge.
+         */
+        final Chunk[] neighbors;
+
+        /**
+         * The walls of the chunk: bit {@code i} is set if edge {@code i} is a wall.
+         */
+        final long walls;
+
+        /**
+         * Looks up the neighbors and walls of a chunk.
+         *
+         * @param chunk    the chunk
+         * @param wallSeed the seed used for determining the presence of walls
+         */
+        Tile(final Chunk chunk, final int wallSeed) {
+            final int p = chunk.getTiling().getP();
+            this.neighbors = new Chunk[p];
+            for (int edge = 0; edge < p; edge++) {
+                this.neighbors[edge] = chunk.getNeighbors(edge);
+            }
+            this.walls = chunk.getWallMask(wallSeed);
+        }
+    }
+
+    // The seed used for determining the presence of walls.
+    private final int wallSeed;
+
+    // The hyperbolic distance beyond which the rays stop.
+    private final double maxDistance;
+
+    // The Euclidean radius of the disk within the maximum distance.
+    private final double maxRadius;
+
+    // The tiles looked up so far, indexed by chunk.
+    private final Map<Chunk, Tile> tiles = new ConcurrentHashMap<>();
+
+    // Builds the tile of a chunk missing from the cache.
+    private final Function<Chunk, Tile> builder;
+
+    /**
+     * Constructs an empty cache for the rays thrown from a center chunk, which
+     * stop at the default maximum distance.
+     *
+     * @param wallSeed the seed used for determining the presence of walls
+     */
+    public TraversalCache(final int wallSeed) {
+        this(wallSeed, Caster.DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * Constructs an empty cache for the rays thrown from a center chunk.
+     *
+     * @param wallSeed    the seed used for determining the presence of walls
+     * @param maxDistance the hyperbolic distance beyond which the rays stop
+     * @throws IllegalArgumentException if the distance is not positive and finite
+     */
+    public TraversalCache(final int wallSeed, final double maxDistance) {
+        if (!(maxDistance > 0) || Double.isInfinite(maxDistance)) {
+            throw new IllegalArgumentException("The maximum distance must be positive and finite");
+        }
+        this.wallSeed = wallSeed;
+        this.maxDistance = maxDistance;
+        this.maxRadius = Math.tanh(maxDistance / 2);
+        this.builder = chunk -> new Tile(chunk, this.wallSeed);
+    }
+
+    /**
+     * Returns the seed used for determining the presence of walls.
+     *
+     * @return the wall seed
+     */
+    public int getWallSeed() {
+        return this.wallSeed;
+    }
+
+    /**
+     * Returns the hyperbolic distance beyond which the rays stop.
+     *
+     * @return the maximum distance
+     */
+    public double getMaxDistance() {
+        return this.maxDistance;
+    }
+
+    /**
+     * Returns the Euclidean radius of the disk within the maximum distance.
+     *
+     * @return the distance from the center of the disk at which the rays stop
+     */
+    public double getMaxRadius() {
+        return this.maxRadius;
+    }
+
+    /**
+     * Returns the tile of a chunk, looking it up on first use.
+     *
+     * @param chunk the chunk
+     * @return the neighbors and walls of the chunk
+     */
+    Tile get(final Chunk chunk) {
+        final Tile tile = this.tiles.get(chunk);
+        return tile != null ? tile : this.tiles.computeIfAbsent(chunk, this.builder);
+    }
+
+    /**
+     * Returns the neighbor of a chunk across an edge.
+     *
+     * @param chunk the chunk
+     * @param edge  the index of the edge
+     * @return the neighboring chunk
+     */
+    public Chunk getNeighbor(final Chunk chunk, final int edge) {
+        return this.get(chunk).neighbors[edge];
+    }
+
+    /**
+     * Returns whether there is a wall on an edge of a chunk.
+     *
+     * @param chunk the chunk
+     * @param edge  the index of the edge
+     * @return true if the edge is a wall
+     */
+    public boolean isWall(final Chunk chunk, final int edge) {
+        return (this.get(chunk).walls >>> edge & 1) != 0;
+    }
+
+    /**
+     * Returns the number of chunks looked up so far.
+     *
+     * @return the number of chunks in the cache
+     */
+    public int size() {
+        return this.tiles.size();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+/**
+ * The WallRaster class draws the walls of a frame into an image whose pixels
+ * are written directly, instead of through a graphics context.
+ *
+ * Each column of the image shows the wall hit by its ray as a vertical span
+ * centered on the horizon, whose height and gray level come from a
+ * {@link HitBuffer}. As the spans are centered on the horizon, each row of the
+ * upper half is the row above it plus the columns whose span starts there, and
+ * likewise for the lower half from the bottom up: the image is filled by
+ * copying whole rows, in memory order, and only the ends of the spans are
+ * written one by one. The image is allocated once and reused from one frame to
+ * the next: drawing a frame then costs a single blit.
+ */
+public final class WallRaster {
+    // The ARGB color of each gray level, from black to white.
+    private static final int[] GRAYS = new int[256];
+
+    static {
+        for (int level = 0; level < 256; level++) {
+            WallRaster.GRAYS[level] = 0xFF000000 | level << 16 | level << 8 | level;
+        }
+    }
+
+    // The color of the pixels without any wall.
+    private static final int BACKGROUND = WallRaster.GRAYS[0];
+
+    // The dimensions of the image.
+    public final int width;
+    public final int height;
+
+    // The image drawn into, and its pixels, row by row.
+    private final BufferedImage image;
+    private final int[] pixels;
+
+    // The color of the span of each column.
+    private final int[] color;
+
+    // The columns whose span starts on each row of the upper half, as linked
+    // lists: the first column of each row, then the next column of each column.
+    private final int[] firstStarting;
+    private final int[] nextStarting;
+
+    // The columns whose span ends on each row of the lower half, likewise.
+    private final int[] firstEnding;
+    private final int[] nextEnding;
+
+    /**
+     * Constructs a raster of the given dimensions.
+     *
+     * @param width  the width of the image, one column per ray
+     * @param height the height of the image
+     * @throws IllegalArgumentException if a dimension is not positive
+     */
+    public WallRaster(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("The dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.pixels = ((DataBufferInt) this.image.getRaster().getDataBuffer()).getData();
+        this.color = new int[width];
+        this.firstStarting = new int[height];
+        this.nextStarting = new int[width];
+        this.firstEnding = new int[height];
+        this.nextEnding = new int[width];
+    }
+
+    /**
+     * Returns the ARGB color of a brightness.
+     *
+     * @param brightness the brightness, between 0 and 1
+     * @return the opaque gray of that brightness
+     */
+    static int gray(final float brightness) {
+        final int level = (int) (Math.max(0, Math.min(1, brightness)) * 255 + 0.5f);
+        return WallRaster.GRAYS[level];
+    }
+
+    /**
+     * Draws the walls of a frame. A wall at depth {@code d} spans
+     * {@code scale / cosh(d)} rows above and below the horizon; the rays out of
+     * range and the walls touching the viewer leave their column black.
+     *
+     * @param hits  the hits of the frame, one per column of the image
+     * @param scale the half height of a wall at the viewer, in rows
+     * @return the image, valid until the next frame is drawn
+     * @throws IllegalArgumentException if the buffer holds fewer columns than the
+     *                                  image
+     */
+    public BufferedImage render(final HitBuffer hits, final double scale) {
+        if (hits.capacity < this.width) {
+            throw new IllegalArgumentException("The buffer must hold a hit per column");
+        }
+        final double horizon = this.height / 2.0;
+        // Every span drawn covers the middle row
+        final int middle = this.height / 2;
+        Arrays.fill(this.firstStarting, -1);
+        Arrays.fill(this.firstEnding, -1);
+        for (int x = this.width - 1; x >= 0; x--) {
+            if (!hits.wall[x] || hits.depth[x] < 1e-6) {
+                continue;
+            }
+            final double halfHeight = scale * hits.heightScale[x];
+            final int yTop = Math.max(0, (int) (horizon - halfHeight));
+            final int yBottom = Math.min(this.height - 1, (int) (horizon + halfHeight));
+            // A span is drawn only if it covers more than one row
+            if (yBottom <= yTop) {
+                continue;
+            }
+            this.color[x] = WallRaster.gray(hits.brightness[x]);
+            this.nextStarting[x] = this.firstStarting[yTop];
+            this.firstStarting[yTop] = x;
+            if (yBottom > middle) {
+                this.nextEnding[x] = this.firstEnding[yBottom];
+                this.firstEnding[yBottom] = x;
+            }
+        }
+
+        // The upper half, from the top row down to the middle row
+        Arrays.fill(this.pixels, 0, this.width, WallRaster.BACKGROUND);
+        for (int y = 0; y <= middle; y++) {
+            final int row = y * this.width;
+            if (y > 0) {
+                System.arraycopy(this.pixels, row - this.width, this.pixels, row, this.width);
+            }
+            for (int x = this.firstStarting[y]; x >= 0; x = this.nextStarting[x]) {
+                this.pixels[row + x] = this.color[x];
+            }
+        }
+        // The lower half, from the bottom row up to the row below the middle one
+        final int last = this.height - 1;
+        if (last > middle) {
+            Arrays.fill(this.pixels, last * this.width, this.height * this.width, WallRaster.BACKGROUND);
+        }
+        for (int y = last; y > middle; y--) {
+            final int row = y * this.width;
+            if (y < last) {
+                System.arraycopy(this.pixels, row + this.width, this.pixels, row, this.width);
+            }
+            for (int x = this.firstEnding[y]; x >= 0; x = this.nextEnding[x]) {
+                this.pixels[row + x] = this.color[x];
+            }
+        }
+        return this.image;
+    }
+
+    /**
+     * Returns the image drawn into.
+     *
+     * @return the image of the last frame drawn
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+}
@@ -31,7 +31,19 @@ public class Distance {
      * @return the hyperbolic distance between the point and the center
      */
     public static double hyperbolicDistanceToCenter(final Point point) {
-        final double euclideanDistSquared = point.x * point.x + point.y * point.y;
+        return Distance.hyperbolicDistanceToCenter(point.x, point.y);
+    }
+
+    /**
+     * Returns the hyperbolic distance between a point given by its coordinates and
+     * the origin, without allocating a point.
+     *
+     * @param x the abscissa of the point
+     * @param y the ordinate of the point
+     * @return the hyperbolic distance between the point and the origin
+     */
+    public static double hyperbolicDistanceToCenter(final double x, final double y) {
+        final double euclideanDistSquared = x * x + y * y;
         final double intermediate = 1 + 2 * (euclideanDistSquared / (1 - euclideanDistSquared));
         if (intermediate < 1) {
             return Double.POSITIVE_INFINITY;
@@ -89,4 +101,21 @@ public class Distance {
 
         return HyperbolicMath.acosh(1 + 2 * (numerator / denominator));
     }
+
+    /**
+     * Returns the hyperbolic distance between two points given by their
+     * coordinates, without allocating a point.
+     *
+     * @param x1 the abscissa of the first point
+     * @param y1 the ordinate of the first point
+     * @param x2 the abscissa of the second point
+     * @param y2 the ordinate of the second point
+     * @return the hyperbolic distance between the two points
+     */
+    public static double hyperbolicDistance(final double x1, final double y1, final double x2, final double y2) {
+        final double dx = x1 - x2;
+        final double dy = y1 - y2;
+        final double denominator = (1 - x1 * x1 - y1 * y1) * (1 - x2 * x2 - y2 * y2);
+        return HyperbolicMath.acosh(1 + 2 * ((dx * dx + dy * dy) / denominator));
+    }
 }
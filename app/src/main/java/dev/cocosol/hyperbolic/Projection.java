@@ -6,6 +6,8 @@
 
 package dev.cocosol.hyperbolic;
 
+import dev.cocosol.Point;
+
 /**
  * Enum representing the different types of projections available.
  * Currently, it supports Poincaré and Klein projections.
@@ -36,6 +38,21 @@ public enum Projection {
      */
     HALFPLANE;
 
+    /**
+     * Maps a point of the Poincaré disk to the plane of this projection.
+     *
+     * @param point the point of the Poincaré disk
+     * @return the corresponding point in the model of this projection
+     */
+    public Point project(final Point point) {
+        return switch (this) {
+            case POINCARE -> point;
+            case KLEIN -> point.toKleinModel();
+            case GNOMONIC -> point.toGnomonicModel();
+            case HALFPLANE -> point.toHalfPlaneModel();
+        };
+    }
+
     /**
      * Returns the projection matching the given name, or the default projection if
      * no match is found.
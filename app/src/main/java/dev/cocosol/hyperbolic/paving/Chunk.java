@@ -7,262 +7,378 @@
 package dev.cocosol.hyperbolic.paving;
 
 import java.util.AbstractMap.SimpleEntry;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import dev.cocosol.Point;
-import dev.cocosol.hyperbolic.Geodesic;
-import dev.cocosol.hyperbolic.transformation.Reflexion;
+import dev.cocosol.hyperbolic.transformation.Isometry;
 
 /**
  * Represents a single tile (chunk) in the hyperbolic tiling.
- * Each chunk maintains a list of directions representing its relative position,
- * its global path through the tiling, and its four corner vertices.
+ * Each chunk maintains an address representing its relative position,
+ * its global path through the tiling, and its placement in the disk.
+ *
+ * The placement is the isometry mapping the origin tile onto the chunk. The
+ * vertices are computed lazily from it, through the view of the tiling.
+ *
+ * The frame of a chunk, which tells which of its edges is forward, only depends
+ * on its address: the placement of a chunk is the same whatever the path it was
+ * reached by. The edges of a chunk are numbered counter-clockwise as in
+ * {@link Tiling}; on the default {4,5} tiling, each direction names one of them.
  */
 public class Chunk {
 
     /**
-     * The direction of the holonomy of the chunk.
+     * The tiling the chunk belongs to.
      */
-    public final Direction holonomy;
+    private final Tiling tiling;
 
     /**
-     * The four vertices that define the geometry of the chunk in counter-clockwise
-     * order.
+     * The relative path from the origin using direction steps.
      */
-    public final List<Point> vertices;
+    private final ChunkAddress address;
 
     /**
-     * The relative path from the origin using direction steps.
+     * The pool interning the neighbors of this chunk, or {@code null}.
+     */
+    private final ChunkPool pool;
+
+    /**
+     * The view through which the vertices are seen.
+     */
+    private final View view;
+
+    /**
+     * The isometry mapping the origin chunk onto this chunk, relative to the
+     * anchor of the tiling.
+     */
+    private volatile Isometry placement;
+
+    /**
+     * The vertices computed for the last view and placement, or {@code null}.
+     */
+    private volatile Vertices vertices;
+
+    /**
+     * The placement of the chunk relative to the origin chunk, computed on
+     * demand, or {@code null}.
+     */
+    private volatile Isometry world;
+
+    /**
+     * The walls computed for the last seed, or {@code null}.
+     */
+    private volatile Walls walls;
+
+    /**
+     * The vertices of a chunk, with the isometries they were computed for.
      */
-    private final List<Direction> directions;
+    private static final class Vertices {
+
+        /**
+         * The view the vertices were computed for.
+         */
+        final Isometry view;
+
+        /**
+         * The placement the vertices were computed for.
+         */
+        final Isometry placement;
+
+        /**
+         * The vertices seen through the view.
+         */
+        final List<Point> points;
+
+        /**
+         * Computes the vertices of a chunk.
+         *
+         * @param tiling    the tiling of the chunk
+         * @param view      the isometry of the view
+         * @param placement the placement of the chunk
+         */
+        Vertices(final Tiling tiling, final Isometry view, final Isometry placement) {
+            this.view = view;
+            this.placement = placement;
+            final Isometry isometry = view.compose(placement);
+            final Point[] points = new Point[tiling.getP()];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = isometry.apply(tiling.vertex(i));
+            }
+            this.points = List.of(points);
+        }
+    }
+
+    /**
+     * The walls around a chunk, with the seed they were computed for.
+     */
+    private static final class Walls {
+
+        /**
+         * The seed the walls were computed for.
+         */
+        final int seed;
+
+        /**
+         * The walls of the chunk: bit {@code i} is set if edge {@code i} is a wall.
+         */
+        final long mask;
+
+        /**
+         * Computes the walls around a chunk from its address and the addresses of
+         * its neighbors, without building the neighbors.
+         *
+         * @param chunk the chunk
+         * @param seed  a random seed
+         */
+        Walls(final Chunk chunk, final int seed) {
+            this.seed = seed;
+            final long code = chunk.encode();
+            long mask = 0;
+            for (int edge = 0; edge < chunk.tiling.getP(); edge++) {
+                final long next = chunk.tiling.step(chunk, edge).getKey().hash64();
+                if (Chunk.isWall(seed, code, next)) {
+                    mask |= 1L << edge;
+                }
+            }
+            this.mask = mask;
+        }
+    }
 
     /**
-     * Constructs a chunk with a given direction path and corner points.
+     * Constructs the chunk reached from the origin of the {4,5} tiling by a path
+     * of directions. Each direction is taken in the frame of the chunk reached so
+     * far, as with {@link #getNeighbors(Direction)}.
      *
      * @param directions the list of directions taken from the origin
-     * @param points     the four corner points of the chunk
      */
-    public Chunk(final List<Direction> directions, final Point[] points) {
-        final SimpleEntry<List<Direction>, Direction> entry = Chunk.simplifyDirections(directions, Direction.FORWARD);
-        this.directions = entry.getKey();
-        this.holonomy = entry.getValue();
+    public Chunk(final List<Direction> directions) {
+        this(Chunk.walk(directions));
+    }
 
-        final Point topRight = points[0];
-        final Point topLeft = points[1];
-        final Point bottomLeft = points[2];
-        final Point bottomRight = points[3];
+    /**
+     * Constructs a chunk with the address and placement of another one.
+     *
+     * @param walked the chunk to copy
+     */
+    private Chunk(final Chunk walked) {
+        this(walked.tiling, walked.address, walked.placement, null, new View());
+    }
 
-        this.vertices = new ArrayList<>();
-        Collections.addAll(this.vertices, topRight, topLeft, bottomLeft, bottomRight);
+    /**
+     * Constructs a chunk from an address in normal form and a placement.
+     *
+     * @param tiling    the tiling of the chunk
+     * @param address   the address of the chunk
+     * @param placement the isometry mapping the origin chunk onto the chunk
+     * @param pool      the pool interning the neighbors of the chunk, or
+     *                  {@code null}
+     * @param view      the view through which the vertices are seen
+     */
+    private Chunk(final Tiling tiling, final ChunkAddress address, final Isometry placement, final ChunkPool pool,
+            final View view) {
+        this.tiling = tiling;
+        this.address = address;
+        this.placement = placement;
+        this.pool = pool;
+        this.view = view;
     }
 
     /**
-     * Returns the origin chunk of the tiling.
+     * Returns the origin chunk of the {4,5} tiling.
      *
      * @return the central chunk at the origin
      */
     public static Chunk origin() {
-        final double position = Chunk.size();
-        final Point topRight = new Point(position, position);
-        final Point topLeft = new Point(-position, position);
-        final Point bottomLeft = new Point(-position, -position);
-        final Point bottomRight = new Point(position, -position);
-
-        return new Chunk(List.of(), new Point[] { topRight, topLeft, bottomLeft, bottomRight });
+        return Chunk.origin(Tiling.DEFAULT);
     }
 
     /**
-     * Computes the standard size of a chunk in the current tiling.
+     * Returns the origin chunk of a tiling.
      *
-     * @return the size as a double
+     * @param tiling the tiling
+     * @return the central chunk at the origin
      */
-    private static double size() {
-        final double numerator = Math.tan(Math.PI / 2 - Math.PI / 5) - Math.tan(Math.PI / 4);
-        final double denominator = Math.tan(Math.PI / 2 - Math.PI / 5) + Math.tan(Math.PI / 4);
-        return Math.sqrt(numerator / (denominator * 2));
+    public static Chunk origin(final Tiling tiling) {
+        return new Chunk(tiling, tiling.origin(), Isometry.IDENTITY, null, new View());
     }
 
     /**
-     * Simplifies a direction path recursively based on predefined rules.
+     * Returns the origin chunk of the tiling of a pool, whose neighbors are
+     * interned in the pool and seen through its view.
      *
-     * @param directions the original list of directions
-     * @return a simplified list of directions
+     * @param pool the pool interning the neighbors
+     * @return the central chunk at the origin
      */
-    private static SimpleEntry<List<Direction>, Direction> simplifyDirections(final List<Direction> directions,
-            final Direction holonomy) {
-        final SimpleEntry<List<Direction>, Direction> entry = Chunk.applySimplifications(directions, holonomy);
-
-        if (entry.getKey().equals(directions)) {
-            return entry;
-        }
-        return Chunk.simplifyDirections(entry.getKey(), entry.getValue());
+    static Chunk origin(final ChunkPool pool) {
+        final Tiling tiling = pool.getTiling();
+        return new Chunk(tiling, tiling.origin(), Isometry.IDENTITY, pool, pool.getView());
     }
 
     /**
-     * Applies transformation rules to simplify the direction path.
+     * Follows a path of directions from the origin of the {4,5} tiling.
      *
-     * @param input the original direction list
-     * @return a partially simplified direction list
+     * @param directions the path of directions
+     * @return the chunk reached
      */
-    private static SimpleEntry<List<Direction>, Direction> applySimplifications(final List<Direction> input,
-            final Direction oldHolonomy) {
-
-        Direction holonomy = oldHolonomy;
-        if (input.size() < 2) {
-            return new SimpleEntry<>(input, holonomy);
+    private static Chunk walk(final List<Direction> directions) {
+        Chunk chunk = Chunk.origin();
+        for (final Direction direction : directions) {
+            chunk = chunk.getNeighbors(direction);
         }
+        return chunk;
+    }
 
-        // Rule 1: Undo BACKWARD operations
-        final List<Direction> firstPass = new ArrayList<>();
-        for (int i = 1; i < input.size(); i++) {
-            final Direction fst = input.get(i - 1);
-            final Direction cur = input.get(i);
-            final boolean last = i == input.size() - 1;
-
-            if (cur == Direction.BACKWARD) {
-                if (!last) {
-                    final Direction newDirection = switch (fst) {
-                        case LEFT -> input.get(i + 1).clockwise();
-                        case RIGHT -> input.get(i + 1).anticlockwise();
-                        case FORWARD -> input.get(i + 1).opposite();
-                        case BACKWARD -> input.get(i + 1);
-                    };
-                    firstPass.add(newDirection);
-                    firstPass.addAll(input.subList(i + 2, input.size()));
-                } else {
-                    holonomy = holonomy.add(fst.opposite());
-                }
-                break;
-            }
-            firstPass.add(fst);
-            if (last) {
-                firstPass.add(cur);
-            }
-        }
+    /**
+     * Returns the tiling the chunk belongs to.
+     *
+     * @return the tiling of the chunk
+     */
+    public Tiling getTiling() {
+        return this.tiling;
+    }
 
-        // Rule 2: Merge repeated directions
-        if (firstPass.size() < 3) {
-            return new SimpleEntry<>(firstPass, holonomy);
-        }
+    /**
+     * Returns the address of the chunk: its simplified path from the origin.
+     *
+     * @return the address of the chunk
+     */
+    public ChunkAddress getAddress() {
+        return this.address;
+    }
 
-        final List<Direction> secondPass = new ArrayList<>();
-        for (int i = 2; i < firstPass.size(); i++) {
-            final Direction fst = firstPass.get(i - 2);
-            final Direction snd = firstPass.get(i - 1);
-            final Direction cur = firstPass.get(i);
-
-            final boolean last = i == firstPass.size() - 1;
-
-            if (snd == cur && cur == Direction.RIGHT) {
-                secondPass.addAll(List.of(fst.clockwise(), Direction.LEFT));
-                if (!last) {
-                    secondPass.add(firstPass.get(i + 1).clockwise());
-                    secondPass.addAll(firstPass.subList(i + 2, firstPass.size()));
-                } else {
-                    holonomy = holonomy.clockwise();
-                }
-                break;
-            }
+    /**
+     * Returns the placement of the chunk: the isometry mapping the origin chunk
+     * onto this one, relative to the anchor of the tiling.
+     *
+     * @return the placement of the chunk
+     */
+    public Isometry getPlacement() {
+        return this.placement;
+    }
 
-            if (snd == cur && cur == Direction.LEFT) {
-                secondPass.addAll(List.of(fst.anticlockwise(), Direction.RIGHT));
-                if (!last) {
-                    secondPass.add(firstPass.get(i + 1).anticlockwise());
-                    secondPass.addAll(firstPass.subList(i + 2, firstPass.size()));
-                } else {
-                    holonomy = holonomy.anticlockwise();
-                }
-                break;
-            }
+    /**
+     * Moves the anchor of the placement.
+     *
+     * @param transformation the isometry applied before the placement
+     */
+    void rebase(final Isometry transformation) {
+        this.placement = transformation.compose(this.placement);
+    }
 
-            secondPass.add(fst);
-            if (last) {
-                secondPass.add(snd);
-                secondPass.add(cur);
-            }
+    /**
+     * Returns the placement of the chunk relative to the origin chunk, whatever
+     * the anchor of the tiling. It is computed from the address on first use.
+     *
+     * @return the isometry mapping the origin chunk onto this one
+     */
+    Isometry getWorld() {
+        Isometry world = this.world;
+        if (world == null) {
+            world = this.tiling.world(this.address);
+            this.world = world;
         }
+        return world;
+    }
 
-        // --- Pass 3: Apply LF rule ---
-        // Ryle: Y + R (F*n) R + X -> Y.clockwise + (LF*n) L + X.clockwise
-        if (secondPass.size() < 4) {
-            return new SimpleEntry<>(secondPass, holonomy);
+    /**
+     * Returns the vertices that define the geometry of the chunk in
+     * counter-clockwise order, as seen through the view.
+     *
+     * The vertices are computed again only when the view or the placement
+     * changed since the last call.
+     *
+     * @return an immutable list of the vertices
+     */
+    public List<Point> getVertices() {
+        final Isometry current = this.view.get();
+        final Isometry placement = this.placement;
+        Vertices cached = this.vertices;
+        if (cached == null || cached.view != current || cached.placement != placement) {
+            cached = new Vertices(this.tiling, current, placement);
+            this.vertices = cached;
         }
-        final List<Direction> thirdPass = new ArrayList<>();
-
-        int i = 0;
-
-        while (i < secondPass.size()) {
-            if (i + 1 >= secondPass.size()) {
-                thirdPass.add(secondPass.get(i));
-                i++;
-                continue;
-            }
-
-            final Direction y = secondPass.get(i);
-            final Direction r1 = secondPass.get(i + 1);
-
-            if (r1 == Direction.RIGHT) {
-                int fCount = 0;
-                int currentScanIndex = i + 2;
+        return cached.points;
+    }
 
-                while (currentScanIndex < secondPass.size()
-                        && secondPass.get(currentScanIndex) == Direction.FORWARD) {
-                    fCount++;
-                    currentScanIndex++;
-                }
+    /**
+     * Writes the vertices of the chunk, as seen through the view, into arrays of
+     * coordinates. Unlike {@link #getVertices()}, nothing is allocated.
+     *
+     * @param xs the array receiving the abscissas, at least as long as the number
+     *           of vertices
+     * @param ys the array receiving the ordinates, at least as long as the number
+     *           of vertices
+     * @return the number of vertices written
+     */
+    public int getVertices(final double[] xs, final double[] ys) {
+        final int count = this.getPlacedVertices(xs, ys);
+        this.view.get().apply(xs, ys, count);
+        return count;
+    }
 
-                if (fCount > 0
-                        && currentScanIndex < secondPass.size()
-                        && secondPass.get(currentScanIndex) == Direction.RIGHT) {
-                    final int r2Index = currentScanIndex;
-
-                    thirdPass.add(y.clockwise());
-
-                    for (int k = 0; k < fCount; k++) {
-                        thirdPass.add(Direction.LEFT);
-                        thirdPass.add(Direction.FORWARD);
-                    }
-                    thirdPass.add(Direction.LEFT);
-
-                    final int xIndex = r2Index + 1;
-                    if (xIndex < secondPass.size()) {
-                        final Direction x = secondPass.get(xIndex);
-                        thirdPass.add(x.clockwise());
-                        thirdPass.addAll(secondPass.subList(xIndex + 1, secondPass.size()));
-                    } else {
-                        holonomy = holonomy.clockwise();
-                    }
-
-                    break;
-
-                } else {
-                    thirdPass.add(y);
-                    i++;
-                }
+    /**
+     * Writes the vertices of the chunk, as seen through the view, into arrays of
+     * coordinates of the Klein model. The vertices of the origin chunk are moved
+     * by the placement and the view directly in the Klein model, without going
+     * through the Poincaré disk, and nothing is allocated.
+     *
+     * @param xs the array receiving the abscissas, at least as long as the number
+     *           of vertices
+     * @param ys the array receiving the ordinates, at least as long as the number
+     *           of vertices
+     * @return the number of vertices written
+     */
+    public int getKleinVertices(final double[] xs, final double[] ys) {
+        final int count = this.tiling.getP();
+        final double radius = this.tiling.getVertexRadius();
+        final double scale = 2 / (1 + radius * radius);
+        for (int i = 0; i < count; i++) {
+            final Point vertex = this.tiling.vertex(i);
+            xs[i] = scale * vertex.x;
+            ys[i] = scale * vertex.y;
+        }
+        this.view.get().applyKlein(this.placement, xs, ys, count);
+        return count;
+    }
 
-            } else {
-                thirdPass.add(y);
-                i++;
-            }
+    /**
+     * Writes the vertices of the chunk, placed relative to the anchor but not yet
+     * seen through the view, into arrays of coordinates. Applying the isometry of
+     * the view to them gives {@link #getVertices(double[], double[])}.
+     *
+     * @param xs the array receiving the abscissas, at least as long as the number
+     *           of vertices
+     * @param ys the array receiving the ordinates, at least as long as the number
+     *           of vertices
+     * @return the number of vertices written
+     */
+    public int getPlacedVertices(final double[] xs, final double[] ys) {
+        final int count = this.tiling.getP();
+        for (int i = 0; i < count; i++) {
+            final Point vertex = this.tiling.vertex(i);
+            xs[i] = vertex.x;
+            ys[i] = vertex.y;
         }
+        this.placement.apply(xs, ys, count);
+        return count;
+    }
 
-        return new SimpleEntry<>(thirdPass, holonomy);
+    /**
+     * Returns the view through which the vertices of the chunk are seen.
+     *
+     * @return the view of the chunk
+     */
+    public View getView() {
+        return this.view;
     }
 
     /**
-     * Encodes the chunk's position into an integer value.
+     * Encodes the chunk's position into a 64-bit value.
      *
-     * @return the encoded integer
+     * @return the 64-bit hash of the chunk's address
      */
-    public int encode() {
-        int result = 0;
-        for (int i = 0; i < this.directions.size(); i++) {
-            final Direction direction = this.directions.get(i);
-            result += (int) (direction.ordinal() * Math.pow(4, i));
-        }
-        return result;
+    public long encode() {
+        return this.address.hash64();
     }
 
     /**
@@ -274,17 +390,78 @@ public class Chunk {
      * @return a pseudo-random boolean value
      */
     public boolean getHash(final int seed, final Direction direction) {
-        final Chunk nextChunk = this.getNeighbors(direction);
-        final int num1 = nextChunk.encode();
-        final int num2 = this.encode();
+        return this.getHash(seed, direction.edge());
+    }
+
+    /**
+     * Computes a pseudo-random boolean value based on a given seed, current chunk,
+     * and edge. Both chunks sharing the edge compute the same value.
+     *
+     * The value is read from the wall mask of the chunk, so only the first call
+     * for a seed looks up the addresses of the neighbors.
+     *
+     * @param seed a random seed
+     * @param edge the index of the edge to compute from
+     * @return a pseudo-random boolean value
+     * @throws IllegalArgumentException if the edge does not exist
+     */
+    public boolean getHash(final int seed, final int edge) {
+        if (edge < 0 || edge >= this.tiling.getP()) {
+            throw new IllegalArgumentException("Unexpected edge: " + edge);
+        }
+        return (this.getWallMask(seed) >>> edge & 1) != 0;
+    }
+
+    /**
+     * Computes the pseudo-random boolean value of the edge shared with a
+     * neighbor that was already looked up.
+     *
+     * @param seed      a random seed
+     * @param nextChunk the neighbor across the edge
+     * @return a pseudo-random boolean value
+     */
+    public boolean getHash(final int seed, final Chunk nextChunk) {
+        return Chunk.isWall(seed, this.encode(), nextChunk.encode());
+    }
+
+    /**
+     * Returns the walls around this chunk for a seed, as a mask whose bit
+     * {@code i} is set if edge {@code i} is a wall.
+     *
+     * The mask is computed once from the addresses of the chunk and of its
+     * neighbors, and kept with the chunk until it is asked for another seed.
+     *
+     * @param seed a random seed
+     * @return the wall mask of the chunk
+     */
+    public long getWallMask(final int seed) {
+        Walls walls = this.walls;
+        if (walls == null || walls.seed != seed) {
+            walls = new Walls(this, seed);
+            this.walls = walls;
+        }
+        return walls.mask;
+    }
 
-        final int a = Math.min(num1, num2);
-        final int b = Math.max(num1, num2);
+    /**
+     * Mixes the encoded addresses of two chunks sharing an edge into the
+     * pseudo-random presence of a wall. The addresses are ordered first, so
+     * both chunks find the same value.
+     *
+     * @param seed  a random seed
+     * @param code1 the encoded address of one chunk
+     * @param code2 the encoded address of the other chunk
+     * @return true if there is a wall between the two chunks
+     */
+    private static boolean isWall(final int seed, final long code1, final long code2) {
+        final long a = Math.min(code1, code2);
+        final long b = Math.max(code1, code2);
 
         long hash = seed;
         hash ^= 0x9E3779B97F4A7C15L;
-        hash ^= ((long) a << 32) | (b & 0xFFFFFFFFL);
+        hash ^= a;
         hash = Long.rotateLeft(hash * 0xBF58476D1CE4E5B9L, 31);
+        hash ^= b;
         hash *= 0x94D049BB133111EBL;
         hash ^= hash >>> 33;
 
@@ -296,36 +473,51 @@ public class Chunk {
      *
      * @param direction the direction to retrieve the neighbor from
      * @return the neighboring chunk
+     * @throws IllegalArgumentException if the chunk does not belong to the {4,5}
+     *                                  tiling
      */
     public Chunk getNeighbors(final Direction direction) {
-        final Geodesic geodesic = Geodesic.fromTwoPoints(this.getPointFromDirection(direction)[0],
-                this.getPointFromDirection(direction)[1]);
-        final Point[] newPoint = switch (direction) {
-            case FORWARD ->
-                new Point[] { this.vertices.get(3), this.vertices.get(2), this.vertices.get(1), this.vertices.get(0) };
-            case BACKWARD ->
-                new Point[] { this.vertices.get(1), this.vertices.get(0), this.vertices.get(3), this.vertices.get(2) };
-            case LEFT ->
-                new Point[] { this.vertices.get(0), this.vertices.get(3), this.vertices.get(2), this.vertices.get(1) };
-            case RIGHT ->
-                new Point[] { this.vertices.get(2), this.vertices.get(1), this.vertices.get(0), this.vertices.get(3) };
-        };
-        for (int i = 0; i < 4; i++) {
-            final Reflexion reflexion = new Reflexion(geodesic);
-            newPoint[i] = reflexion.apply(newPoint[i]);
+        if (this.tiling.getP() != Direction.values().length) {
+            throw new IllegalArgumentException("Directions only name the edges of square chunks");
         }
+        return this.getNeighbors(direction.edge());
+    }
 
-        final List<Direction> newDirections = new ArrayList<>(this.directions);
-        newDirections.add(this.holonomy.add(direction));
-        return new Chunk(newDirections, newPoint);
+    /**
+     * Returns the neighboring chunk across the specified edge.
+     * 
+     * The neighbor is placed with a single composition, looked up in the tables
+     * of the tiling. When the chunk belongs to a pool, the neighbor is looked up
+     * in the pool first and only built on a miss.
+     *
+     * @param edge the index of the edge to cross
+     * @return the neighboring chunk
+     * @throws IllegalArgumentException if the chunk has no such edge
+     */
+    public Chunk getNeighbors(final int edge) {
+        if (edge < 0 || edge >= this.tiling.getP()) {
+            throw new IllegalArgumentException("Unexpected edge: " + edge);
+        }
+        final SimpleEntry<ChunkAddress, Isometry> entry = this.tiling.step(this, edge);
+        if (this.pool != null) {
+            final Chunk pooled = this.pool.get(entry.getKey());
+            if (pooled != null) {
+                return pooled;
+            }
+        }
+
+        final Chunk chunk = new Chunk(this.tiling, entry.getKey(), this.placement.compose(entry.getValue()),
+                this.pool, this.view);
+        return this.pool == null ? chunk : this.pool.intern(chunk);
     }
 
     public Point getCenter() {
         Point sum = new Point(0, 0);
-        for (final Point p : this.vertices) {
+        final List<Point> vertices = this.getVertices();
+        for (final Point p : vertices) {
             sum = sum.plus(p);
         }
-        return sum.mul(0.25);
+        return sum.mul(1.0 / vertices.size());
     }
 
     /**
@@ -335,13 +527,18 @@ public class Chunk {
      * @return an array of two points corresponding to that edge
      */
     public Point[] getPointFromDirection(final Direction direction) {
-        final int index = switch (direction) {
-            case FORWARD -> 0;
-            case LEFT -> 1;
-            case BACKWARD -> 2;
-            case RIGHT -> 3;
-        };
-        return new Point[] { this.vertices.get(index), this.vertices.get((index + 1) % 4) };
+        return this.getEdgePoints(direction.edge());
+    }
+
+    /**
+     * Returns the two points bounding an edge, counter-clockwise.
+     *
+     * @param edge the index of the edge
+     * @return an array of two points corresponding to that edge
+     */
+    public Point[] getEdgePoints(final int edge) {
+        final List<Point> vertices = this.getVertices();
+        return new Point[] { vertices.get(edge), vertices.get((edge + 1) % vertices.size()) };
     }
 
     /**
@@ -353,22 +550,27 @@ public class Chunk {
      * @return the direction from point a to point b, or null if no match is found
      */
     public Direction getDirectionFromPoints(final Point a, final Point b) {
+        final int edge = this.getEdgeFromPoints(a, b);
+        return edge == -1 ? null : Direction.fromEdge(edge);
+    }
+
+    /**
+     * Determines the edge that corresponds to the given two consecutive points.
+     *
+     * @param a the first point
+     * @param b the second point
+     * @return the index of the edge from point a to point b, or -1 if no match is
+     *         found
+     */
+    public int getEdgeFromPoints(final Point a, final Point b) {
+        final List<Point> vertices = this.getVertices();
         int index = -1;
-        for (int i = 0; i < 4; i++) {
-            if (this.vertices.get(i).equals(a) && this.vertices.get((i + 1) % 4).equals(b)) {
+        for (int i = 0; i < vertices.size(); i++) {
+            if (vertices.get(i).equals(a) && vertices.get((i + 1) % vertices.size()).equals(b)) {
                 index = i;
             }
         }
-        if (index == -1) {
-            return null;
-        }
-        return switch (index) {
-            case 0 -> Direction.FORWARD;
-            case 1 -> Direction.LEFT;
-            case 2 -> Direction.BACKWARD;
-            case 3 -> Direction.RIGHT;
-            default -> throw new IllegalStateException("Unexpected value: " + index);
-        };
+        return index;
     }
 
     /**
@@ -378,11 +580,7 @@ public class Chunk {
      */
     @Override
     public String toString() {
-        String text = "";
-        for (final Direction direction : this.directions) {
-            text += direction;
-        }
-        return text;
+        return this.address.toString();
     }
 
     /**
@@ -402,17 +600,17 @@ public class Chunk {
         }
 
         final Chunk other = (Chunk) obj;
-        return this.directions.equals(other.directions);
+        return this.tiling.equals(other.tiling) && this.address.equals(other.address);
     }
 
     /**
      * Returns the hash code of this chunk.
-     * The hash code is determined by the hash code of the chunk's direction path.
+     * The hash code is determined by the hash code of the chunk's address.
      * 
      * @return the hash code of this chunk
      */
     @Override
     public int hashCode() {
-        return this.directions.hashCode();
+        return this.address.hashCode();
     }
 }
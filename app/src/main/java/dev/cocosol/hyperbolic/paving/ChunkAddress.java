@@ -0,0 +1,517 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents the address of a chunk: the path of steps leading to it from the
+ * origin.
+ *
+ * Each step is packed on a fixed number of bits: 2 bits for the directions of
+ * the {4,5} tiling, enough bits for a step of a {@link TreeAutomaton} in other
+ * tilings. The steps of the last, partial word are stored in a single
+ * {@code long}; the full words before it form a list from the last one, shared
+ * by all the addresses extending the same prefix. The 64-bit hash mixes each
+ * step into the hash of the prefix.
+ *
+ * Appending or removing a step, reading the last steps and hashing thus cost
+ * the same whatever the length of the path. Reading a step costs one link per
+ * full word after it.
+ *
+ * Addresses are immutable.
+ */
+public final class ChunkAddress {
+
+    /**
+     * The number of bits of a step holding a direction.
+     */
+    private static final int DIRECTION_BITS = 2;
+
+    /**
+     * The address of the origin chunk, with steps holding directions.
+     */
+    public static final ChunkAddress EMPTY = new ChunkAddress(ChunkAddress.DIRECTION_BITS, 0, 0L, null,
+            ChunkAddress.mix(ChunkAddress.DIRECTION_BITS));
+
+    /**
+     * The multiplier spreading a step before it is mixed into the hash.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The cached values of {@link Direction#values()}.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The number of bits of each step.
+     */
+    private final int bits;
+
+    /**
+     * The number of steps of the path.
+     */
+    private final int length;
+
+    /**
+     * The steps after the last full word, the first one in the lowest bits.
+     */
+    private final long tail;
+
+    /**
+     * The full words of steps, from the last one, or {@code null}.
+     */
+    private final Words words;
+
+    /**
+     * The 64-bit hash of the address.
+     */
+    private final long hash;
+
+    /**
+     * A full word of steps, linked to the words before it.
+     */
+    private static final class Words {
+
+        /**
+         * The steps of the word, the first one in the lowest bits.
+         */
+        final long steps;
+
+        /**
+         * The words before this one, or {@code null}.
+         */
+        final Words previous;
+
+        /**
+         * Constructs a word of steps.
+         *
+         * @param steps    the steps of the word
+         * @param previous the words before it, or {@code null}
+         */
+        Words(final long steps, final Words previous) {
+            this.steps = steps;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Constructs an address from its packed steps.
+     *
+     * @param bits   the number of bits of each step
+     * @param length the number of steps
+     * @param tail   the steps after the last full word
+     * @param words  the full words, from the last one, or {@code null}
+     * @param hash   the hash of the address
+     */
+    private ChunkAddress(final int bits, final int length, final long tail, final Words words, final long hash) {
+        this.bits = bits;
+        this.length = length;
+        this.tail = tail;
+        this.words = words;
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the address of the origin chunk, with steps of the given width.
+     *
+     * @param bits the number of bits of each step
+     * @return the empty address
+     * @throws IllegalArgumentException if the width is not between 1 and 32 bits
+     */
+    public static ChunkAddress empty(final int bits) {
+        if (bits < 1 || bits > 32) {
+            throw new IllegalArgumentException("A step must hold between 1 and 32 bits");
+        }
+        return bits == ChunkAddress.DIRECTION_BITS ? ChunkAddress.EMPTY
+                : new ChunkAddress(bits, 0, 0L, null, ChunkAddress.mix(bits));
+    }
+
+    /**
+     * Returns the address made of the given directions.
+     *
+     * @param directions the path of directions from the origin
+     * @return the corresponding address
+     */
+    public static ChunkAddress of(final List<Direction> directions) {
+        ChunkAddress address = ChunkAddress.EMPTY;
+        for (final Direction direction : directions) {
+            address = address.append(direction);
+        }
+        return address;
+    }
+
+    /**
+     * Mixes the bits of a value (finalizer of the SplitMix64 generator).
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    private static long mix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Undoes {@link #mix(long)}: each xor-shift is undone by repeating it, each
+     * product by multiplying by the inverse of the odd factor modulo 2^64.
+     *
+     * @param value the mixed value
+     * @return the value before mixing
+     */
+    private static long unmix(final long value) {
+        long z = value;
+        z = (z ^ (z >>> 31) ^ (z >>> 62)) * 0x319642B2D24D8EC3L;
+        z = (z ^ (z >>> 27) ^ (z >>> 54)) * 0x96DE1B173F119089L;
+        return z ^ (z >>> 30) ^ (z >>> 60);
+    }
+
+    /**
+     * Returns the hash of an address extended by one step.
+     *
+     * @param hash the hash of the address
+     * @param step the value of the step
+     * @return the hash of the extended address
+     */
+    private static long extend(final long hash, final int step) {
+        return ChunkAddress.mix(hash + (step + 1L) * ChunkAddress.GOLDEN);
+    }
+
+    /**
+     * Returns the number of steps packed in a single {@code long}.
+     *
+     * @return the number of steps per word
+     */
+    private int stepsPerWord() {
+        return Long.SIZE / this.bits;
+    }
+
+    /**
+     * Returns the number of bits of each step.
+     *
+     * @return the width of a step
+     */
+    public int bits() {
+        return this.bits;
+    }
+
+    /**
+     * Returns the number of steps of the address.
+     *
+     * @return the length of the path
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Returns whether the address is the one of the origin.
+     *
+     * @return true if the path is empty
+     */
+    public boolean isEmpty() {
+        return this.length == 0;
+    }
+
+    /**
+     * Returns the step at the given index.
+     *
+     * @param index the index of the step
+     * @return the value of the step
+     * @throws IndexOutOfBoundsException if the index is out of the path
+     */
+    public int getStep(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of an address of length " + this.length);
+        }
+        final int perWord = this.stepsPerWord();
+        final long word = this.word(this.length / perWord - index / perWord);
+        final int shift = this.bits * (index % perWord);
+        return (int) ((word >>> shift) & ((1L << this.bits) - 1));
+    }
+
+    /**
+     * Returns a word of steps, counted from the end.
+     *
+     * @param fromEnd 0 for the tail, 1 for the last full word, and so on
+     * @return the steps of the word
+     */
+    private long word(final int fromEnd) {
+        if (fromEnd == 0) {
+            return this.tail;
+        }
+        Words words = this.words;
+        for (int i = 1; i < fromEnd; i++) {
+            words = words.previous;
+        }
+        return words.steps;
+    }
+
+    /**
+     * Returns the direction at the given index.
+     *
+     * @param index the index of the step
+     * @return the direction of the step
+     * @throws IndexOutOfBoundsException if the index is out of the path
+     * @throws IllegalStateException     if the steps do not hold directions
+     */
+    public Direction get(final int index) {
+        this.checkDirections();
+        return ChunkAddress.DIRECTIONS[this.getStep(index)];
+    }
+
+    /**
+     * Returns the last step of the address.
+     *
+     * @return the value of the last step, or {@code -1} for the origin
+     */
+    public int lastStep() {
+        return this.length == 0 ? -1 : this.getStep(this.length - 1);
+    }
+
+    /**
+     * Returns the last direction of the address.
+     *
+     * @return the last direction, or {@code null} for the origin
+     * @throws IllegalStateException if the steps do not hold directions
+     */
+    public Direction last() {
+        return this.length == 0 ? null : this.get(this.length - 1);
+    }
+
+    /**
+     * Returns the number of consecutive steps equal to the given value at the
+     * end of the address.
+     *
+     * The run is found with a few bit operations per packed word instead of
+     * reading the steps one by one.
+     *
+     * @param step the value of the run
+     * @return the length of the run of {@code step} ending the path
+     */
+    public int trailingRun(final int step) {
+        final int perWord = this.stepsPerWord();
+        // The step repeated on every field of a word
+        long pattern = 0;
+        for (int i = 0; i < perWord; i++) {
+            pattern |= (long) step << (this.bits * i);
+        }
+        int run = 0;
+        int steps = this.length % perWord;
+        long word = this.tail;
+        Words words = this.words;
+        while (run < this.length) {
+            if (steps > 0) {
+                // Move the last step of the word to the highest bits
+                final long diff = (word ^ pattern) << (Long.SIZE - this.bits * steps);
+                if (diff != 0) {
+                    return run + Long.numberOfLeadingZeros(diff) / this.bits;
+                }
+                run += steps;
+            }
+            if (words == null) {
+                break;
+            }
+            word = words.steps;
+            words = words.previous;
+            steps = perWord;
+        }
+        return run;
+    }
+
+    /**
+     * Returns the number of consecutive steps equal to the given direction at the
+     * end of the address.
+     *
+     * @param direction the direction of the run
+     * @return the length of the run of {@code direction} ending the path
+     * @throws IllegalStateException if the steps do not hold directions
+     */
+    public int trailingRun(final Direction direction) {
+        this.checkDirections();
+        return this.trailingRun(direction.ordinal());
+    }
+
+    /**
+     * Returns the address extended by one step.
+     *
+     * @param step the value of the step to add
+     * @return the extended address
+     * @throws IllegalArgumentException if the value does not fit in a step
+     */
+    public ChunkAddress appendStep(final int step) {
+        if (step < 0 || step >= 1L << this.bits) {
+            throw new IllegalArgumentException("The step " + step + " does not fit in " + this.bits + " bits");
+        }
+        final int perWord = this.stepsPerWord();
+        final long tail = this.tail | (long) step << (this.bits * (this.length % perWord));
+        final long hash = ChunkAddress.extend(this.hash, step);
+        if ((this.length + 1) % perWord == 0) {
+            // The tail is full: it becomes the last word
+            return new ChunkAddress(this.bits, this.length + 1, 0L, new Words(tail, this.words), hash);
+        }
+        return new ChunkAddress(this.bits, this.length + 1, tail, this.words, hash);
+    }
+
+    /**
+     * Returns the address extended by one direction.
+     *
+     * @param direction the step to add
+     * @return the extended address
+     * @throws IllegalStateException if the steps do not hold directions
+     */
+    public ChunkAddress append(final Direction direction) {
+        this.checkDirections();
+        return this.appendStep(direction.ordinal());
+    }
+
+    /**
+     * Returns the address without its last step.
+     *
+     * @return the shortened address
+     * @throws IllegalStateException if the address is the one of the origin
+     */
+    public ChunkAddress removeLast() {
+        if (this.length == 0) {
+            throw new IllegalStateException("The origin has no last step");
+        }
+        final int perWord = this.stepsPerWord();
+        final int index = this.length - 1;
+        final boolean full = index % perWord == perWord - 1;
+        final long word = full ? this.words.steps : this.tail;
+        final int shift = this.bits * (index % perWord);
+        final int step = (int) ((word >>> shift) & ((1L << this.bits) - 1));
+        final long hash = ChunkAddress.unmix(this.hash) - (step + 1L) * ChunkAddress.GOLDEN;
+        final long tail = word & ~(((1L << this.bits) - 1) << shift);
+        return new ChunkAddress(this.bits, index, tail, full ? this.words.previous : this.words, hash);
+    }
+
+    /**
+     * Checks that the steps of the address hold directions.
+     *
+     * @throws IllegalStateException if the steps are edge indices
+     */
+    private void checkDirections() {
+        if (this.bits != ChunkAddress.DIRECTION_BITS) {
+            throw new IllegalStateException("The steps of this address are not directions");
+        }
+    }
+
+    /**
+     * Returns the steps of the address as a list of directions.
+     *
+     * @return the path of directions from the origin
+     * @throws IllegalStateException if the steps do not hold directions
+     */
+    public List<Direction> toList() {
+        this.checkDirections();
+        final List<Direction> directions = new ArrayList<>(this.length);
+        for (int i = 0; i < this.length; i++) {
+            directions.add(this.get(i));
+        }
+        return directions;
+    }
+
+    /**
+     * Returns the values of the steps of the address.
+     *
+     * @return the path of steps from the origin
+     */
+    public int[] toSteps() {
+        final int[] steps = new int[this.length];
+        final int perWord = this.stepsPerWord();
+        final long mask = (1L << this.bits) - 1;
+        long word = this.tail;
+        Words words = this.words;
+        for (int i = this.length - 1; i >= 0; i--) {
+            if (i % perWord == perWord - 1) {
+                word = words.steps;
+                words = words.previous;
+            }
+            steps[i] = (int) ((word >>> (this.bits * (i % perWord))) & mask);
+        }
+        return steps;
+    }
+
+    /**
+     * Returns the 64-bit hash of the address.
+     *
+     * @return a well-mixed hash of the path
+     */
+    public long hash64() {
+        return this.hash;
+    }
+
+    /**
+     * Returns a string representation of the address, one character per step:
+     * the letter of the direction, or the base 36 digit of the step. Steps too
+     * wide for a digit are written in decimal between brackets.
+     *
+     * @return the path of steps as a string
+     */
+    @Override
+    public String toString() {
+        final StringBuilder text = new StringBuilder(this.length);
+        for (final int step : this.toSteps()) {
+            if (this.bits == ChunkAddress.DIRECTION_BITS) {
+                text.append(ChunkAddress.DIRECTIONS[step]);
+            } else if (step < Character.MAX_RADIX) {
+                text.append(Character.forDigit(step, Character.MAX_RADIX));
+            } else {
+                text.append('[').append(step).append(']');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Checks whether this address is equal to another object.
+     * Two addresses are equal if they hold the same path.
+     *
+     * @param obj the object to compare
+     * @return true if equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        final ChunkAddress other = (ChunkAddress) obj;
+        if (this.hash != other.hash || this.bits != other.bits || this.length != other.length
+                || this.tail != other.tail) {
+            return false;
+        }
+        // Addresses extending a shared prefix stop at its words
+        Words words = this.words;
+        Words others = other.words;
+        while (words != others) {
+            if (words.steps != others.steps) {
+                return false;
+            }
+            words = words.previous;
+            others = others.previous;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code of this address.
+     *
+     * @return the hash code of this address
+     */
+    @Override
+    public int hashCode() {
+        return (int) (this.hash ^ (this.hash >>> 32));
+    }
+}
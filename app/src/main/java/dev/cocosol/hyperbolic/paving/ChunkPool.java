@@ -0,0 +1,328 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents an interning pool of chunks, indexed by address.
+ *
+ * The pool returns the canonical chunk of each tile, so that looking up a
+ * neighbor that was already built is a table hit instead of a new chunk. The
+ * pool holds at most {@code capacity} chunks and evicts the least recently
+ * used ones when it is full. Hits and misses are counted.
+ *
+ * The chunks of a pool are seen through a single view, so moving the view
+ * moves all of them at once.
+ *
+ * A pool can be shared between threads, and lookups do not lock: the chunks
+ * are held in a concurrent map, and each access stamps its chunk with the tick
+ * of a shared clock. Only the eviction locks. When the pool outgrows its
+ * capacity, it evicts the least recently stamped chunks in one batch, so
+ * sorting the stamps is paid once per batch of interned chunks.
+ */
+public class ChunkPool {
+
+    /**
+     * The default maximum number of chunks held by a pool.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /**
+     * The share of the capacity evicted at once when the pool is full.
+     */
+    private static final int EVICTED_SHARE = 16;
+
+    /**
+     * The tiling of the chunks of the pool.
+     */
+    private final Tiling tiling;
+
+    /**
+     * The maximum number of chunks held by the pool.
+     */
+    private final int capacity;
+
+    /**
+     * The chunks of the pool, with their last access.
+     */
+    private final Map<ChunkAddress, Entry> chunks = new ConcurrentHashMap<>();
+
+    /**
+     * The clock stamping the accesses.
+     */
+    private final AtomicLong clock = new AtomicLong();
+
+    /**
+     * The lock taken by the eviction.
+     */
+    private final Object eviction = new Object();
+
+    /**
+     * The view through which the chunks of the pool are seen.
+     */
+    private final View view = new View();
+
+    /**
+     * The number of lookups that found a chunk.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * The number of lookups that did not find a chunk.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * A chunk of the pool with its last access.
+     */
+    private static final class Entry {
+
+        /**
+         * The canonical chunk.
+         */
+        final Chunk chunk;
+
+        /**
+         * The tick of the clock at the last access.
+         */
+        volatile long used;
+
+        /**
+         * Constructs the entry of a chunk.
+         *
+         * @param chunk the chunk
+         */
+        Entry(final Chunk chunk) {
+            this.chunk = chunk;
+        }
+    }
+
+    /**
+     * Constructs a pool of chunks of the {4,5} tiling with the default capacity.
+     */
+    public ChunkPool() {
+        this(ChunkPool.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a pool of chunks of the {4,5} tiling holding at most the given
+     * number of chunks.
+     *
+     * @param capacity the maximum number of chunks
+     */
+    public ChunkPool(final int capacity) {
+        this(Tiling.DEFAULT, capacity);
+    }
+
+    /**
+     * Constructs a pool of chunks of a tiling holding at most the given number of
+     * chunks.
+     *
+     * @param tiling   the tiling of the chunks
+     * @param capacity the maximum number of chunks
+     */
+    public ChunkPool(final Tiling tiling, final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.tiling = tiling;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the origin chunk of this pool.
+     *
+     * @return the canonical chunk at the origin
+     */
+    public Chunk origin() {
+        final Chunk origin = this.get(this.tiling.origin());
+        return origin != null ? origin : this.intern(Chunk.origin(this));
+    }
+
+    /**
+     * Returns the tiling of the chunks of the pool.
+     *
+     * @return the tiling of the pool
+     */
+    public Tiling getTiling() {
+        return this.tiling;
+    }
+
+    /**
+     * Returns the view through which the chunks of the pool are seen.
+     *
+     * @return the view of the pool
+     */
+    public View getView() {
+        return this.view;
+    }
+
+    /**
+     * Stamps an entry with the next tick of the clock.
+     *
+     * @param entry the entry accessed, or {@code null}
+     * @return the chunk of the entry, or {@code null}
+     */
+    private Chunk touch(final Entry entry) {
+        if (entry == null) {
+            return null;
+        }
+        entry.used = this.clock.incrementAndGet();
+        return entry.chunk;
+    }
+
+    /**
+     * Returns the chunk with the given address, counting a hit or a miss.
+     *
+     * @param address the address of the chunk
+     * @return the canonical chunk, or {@code null} if the pool does not hold it
+     */
+    public Chunk get(final ChunkAddress address) {
+        final Chunk chunk = this.touch(this.chunks.get(address));
+        if (chunk == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return chunk;
+    }
+
+    /**
+     * Adds a chunk to the pool unless it already holds one with the same address.
+     *
+     * @param chunk the chunk to intern
+     * @return the canonical chunk with the address of {@code chunk}
+     */
+    public Chunk intern(final Chunk chunk) {
+        // Stamped before it is published, so that an eviction never sees it
+        // unstamped
+        final Entry entry = new Entry(chunk);
+        this.touch(entry);
+        final Chunk existing = this.touch(this.chunks.putIfAbsent(chunk.getAddress(), entry));
+        if (existing != null) {
+            return existing;
+        }
+        if (this.chunks.size() > this.capacity) {
+            this.evict();
+        }
+        return chunk;
+    }
+
+    /**
+     * Evicts the least recently used chunks until the pool is back under its
+     * capacity, with some room to spare.
+     */
+    private void evict() {
+        synchronized (this.eviction) {
+            final int size = this.chunks.size();
+            if (size <= this.capacity) {
+                return;
+            }
+            final int count = size - this.capacity + this.capacity / ChunkPool.EVICTED_SHARE;
+            final List<Entry> entries = this.sorted();
+            for (int i = 0; i < count && i < entries.size(); i++) {
+                this.chunks.remove(entries.get(i).chunk.getAddress(), entries.get(i));
+            }
+        }
+    }
+
+    /**
+     * Returns the entries of the pool from the least to the most recently used.
+     *
+     * @return a snapshot of the entries
+     */
+    private List<Entry> sorted() {
+        // The stamps are read once, since the accesses keep changing them
+        final List<SimpleEntry<Long, Entry>> stamped = new ArrayList<>(this.chunks.size());
+        for (final Entry entry : this.chunks.values()) {
+            stamped.add(new SimpleEntry<>(entry.used, entry));
+        }
+        stamped.sort(Map.Entry.comparingByKey());
+
+        final List<Entry> entries = new ArrayList<>(stamped.size());
+        for (final SimpleEntry<Long, Entry> entry : stamped) {
+            entries.add(entry.getValue());
+        }
+        return entries;
+    }
+
+    /**
+     * Returns whether the given instance is the canonical chunk of its address.
+     * This check is not counted as a hit or a miss, but it refreshes the chunk in
+     * the eviction order.
+     *
+     * @param chunk the chunk to check
+     * @return true if the pool holds this very instance
+     */
+    public boolean isInterned(final Chunk chunk) {
+        return this.touch(this.chunks.get(chunk.getAddress())) == chunk;
+    }
+
+    /**
+     * Returns a snapshot of the chunks of the pool.
+     *
+     * @return the chunks held by the pool, from the least to the most recently
+     *         used
+     */
+    public List<Chunk> getChunks() {
+        final List<Chunk> chunks = new ArrayList<>(this.chunks.size());
+        for (final Entry entry : this.sorted()) {
+            chunks.add(entry.chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Removes every chunk from the pool. The counters are kept.
+     */
+    public void clear() {
+        this.chunks.clear();
+    }
+
+    /**
+     * Returns the number of chunks held by the pool.
+     *
+     * @return the size of the pool
+     */
+    public int size() {
+        return this.chunks.size();
+    }
+
+    /**
+     * Returns the maximum number of chunks held by the pool.
+     *
+     * @return the capacity of the pool
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the number of lookups that found a chunk.
+     *
+     * @return the number of hits
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a chunk.
+     *
+     * @return the number of misses
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+}
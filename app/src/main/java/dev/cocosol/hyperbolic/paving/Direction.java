@@ -91,6 +91,39 @@ public enum Direction {
         };
     }
 
+    /**
+     * Returns the index of the edge of a square chunk facing this direction.
+     * The edges are numbered counter-clockwise from the forward one.
+     *
+     * @return the index of the edge, between 0 and 3
+     */
+    public int edge() {
+        return switch (this) {
+            case FORWARD -> 0;
+            case LEFT -> 1;
+            case BACKWARD -> 2;
+            case RIGHT -> 3;
+        };
+    }
+
+    /**
+     * Returns the direction facing an edge of a square chunk.
+     *
+     * @param edge the index of the edge, between 0 and 3
+     * @return the direction of the edge
+     * @throws IllegalArgumentException if the index is not the one of an edge of
+     *                                  a square
+     */
+    public static Direction fromEdge(final int edge) {
+        return switch (edge) {
+            case 0 -> FORWARD;
+            case 1 -> LEFT;
+            case 2 -> BACKWARD;
+            case 3 -> RIGHT;
+            default -> throw new IllegalArgumentException("Unexpected edge: " + edge);
+        };
+    }
+
     /**
      * Returns a single character string representation of this direction.
      * <ul>
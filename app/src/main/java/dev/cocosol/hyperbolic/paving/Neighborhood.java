@@ -0,0 +1,569 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Represents the set of chunks within a fixed depth around a center chunk.
+ *
+ * The neighborhood remembers the chunks it has already built together with
+ * the links between them. When the center moves, the rings are recomputed by a
+ * breadth-first walk that follows the known links; only the links of the
+ * previous outer ring are resolved, and only the chunks that come into range
+ * are built. The chunks that entered and left the neighborhood during the last
+ * update are kept as a diff.
+ *
+ * In parallel mode, the neighbors of each ring are built by fork/join tasks
+ * before being linked; the rings are the same, in the same order, as in
+ * sequential mode.
+ */
+public class Neighborhood {
+
+    /**
+     * A chunk of the neighborhood with its known neighbors.
+     */
+    private static final class Node {
+
+        /**
+         * The chunk held by this node.
+         */
+        final Chunk chunk;
+
+        /**
+         * The neighbors of the chunk, indexed by edge in the chunk's own frame, or
+         * {@code null} when not built yet.
+         */
+        final Node[] links;
+
+        /**
+         * The ring of the chunk, valid when {@code stamp} matches the current update.
+         */
+        int ring;
+
+        /**
+         * The update during which the chunk was last reached.
+         */
+        int stamp;
+
+        /**
+         * True once the chunk has left the neighborhood.
+         */
+        boolean removed;
+
+        Node(final Chunk chunk) {
+            this.chunk = chunk;
+            this.links = new Node[chunk.getTiling().getP()];
+        }
+    }
+
+    /**
+     * The number of frontier chunks under which a task expands them itself
+     * instead of forking.
+     */
+    private static final int FORK_THRESHOLD = 32;
+
+    /**
+     * The depth of the neighborhood; 0 only holds the center chunk.
+     */
+    private int depth;
+
+    /**
+     * True if the rings are expanded by fork/join tasks.
+     */
+    private boolean parallel;
+
+    /**
+     * The nodes of the neighborhood, indexed by chunk.
+     */
+    private final Map<Chunk, Node> nodes = new HashMap<>();
+
+    /**
+     * The chunks of the neighborhood, ring by ring.
+     */
+    private List<List<Chunk>> rings = List.of();
+
+    /**
+     * The chunks added by the last update.
+     */
+    private List<Chunk> added = List.of();
+
+    /**
+     * The chunks removed by the last update.
+     */
+    private List<Chunk> removed = List.of();
+
+    /**
+     * The identifier of the current update.
+     */
+    private int stamp;
+
+    /**
+     * The number of links resolved by the last update.
+     */
+    private int resolved;
+
+    /**
+     * Constructs a neighborhood of the given depth around a center chunk.
+     *
+     * @param center the center chunk
+     * @param depth  the number of rings around the center chunk
+     */
+    public Neighborhood(final Chunk center, final int depth) {
+        this(center, depth, false);
+    }
+
+    /**
+     * Constructs a neighborhood of the given depth around a center chunk,
+     * expanding the rings in parallel if requested.
+     *
+     * @param center   the center chunk
+     * @param depth    the number of rings around the center chunk
+     * @param parallel true to expand the rings with fork/join tasks
+     */
+    public Neighborhood(final Chunk center, final int depth, final boolean parallel) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("The depth must not be negative");
+        }
+        this.depth = depth;
+        this.parallel = parallel;
+        this.rebuild(center);
+    }
+
+    /**
+     * Returns the depth of the neighborhood.
+     *
+     * @return the number of rings around the center chunk
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Returns whether the rings are expanded by fork/join tasks.
+     *
+     * @return true in parallel mode
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Returns the center chunk of the neighborhood.
+     *
+     * @return the chunk of ring 0
+     */
+    public Chunk getCenter() {
+        return this.rings.get(0).get(0);
+    }
+
+    /**
+     * Returns the chunks of the neighborhood grouped by ring, from the center
+     * outwards.
+     *
+     * @return an unmodifiable list of the {@code depth + 1} rings
+     */
+    public List<List<Chunk>> getRings() {
+        return this.rings;
+    }
+
+    /**
+     * Returns the chunks that entered the neighborhood during the last update.
+     *
+     * @return an unmodifiable list of the added chunks
+     */
+    public List<Chunk> getAdded() {
+        return this.added;
+    }
+
+    /**
+     * Returns the chunks that left the neighborhood during the last update.
+     *
+     * @return an unmodifiable list of the removed chunks
+     */
+    public List<Chunk> getRemoved() {
+        return this.removed;
+    }
+
+    /**
+     * Returns the chunks of the neighborhood, in no particular order.
+     *
+     * @return the chunks of the neighborhood
+     */
+    public Iterable<Chunk> getChunks() {
+        return Collections.unmodifiableSet(this.nodes.keySet());
+    }
+
+    /**
+     * Returns whether the given chunk belongs to the neighborhood.
+     *
+     * @param chunk the chunk to check
+     * @return true if the chunk is in one of the rings
+     */
+    public boolean contains(final Chunk chunk) {
+        return this.nodes.containsKey(chunk);
+    }
+
+    /**
+     * Returns the neighbor of a chunk of the neighborhood in the given direction.
+     *
+     * The neighbor is the instance held by the neighborhood when it has one, so
+     * that the chunks keep following the movements of the paving.
+     *
+     * @param chunk     a chunk of the neighborhood
+     * @param direction the direction, in the frame of the chunk
+     * @return the neighboring chunk
+     */
+    public Chunk getNeighbor(final Chunk chunk, final Direction direction) {
+        return this.getNeighbor(chunk, direction.edge());
+    }
+
+    /**
+     * Returns the neighbor of a chunk of the neighborhood across the given edge.
+     *
+     * The neighbor is the instance held by the neighborhood when it has one, so
+     * that the chunks keep following the movements of the paving.
+     *
+     * @param chunk a chunk of the neighborhood
+     * @param edge  the index of the edge, in the frame of the chunk
+     * @return the neighboring chunk
+     */
+    public Chunk getNeighbor(final Chunk chunk, final int edge) {
+        final Node node = this.nodes.get(chunk);
+        if (node != null) {
+            final Node known = node.links[edge];
+            if (known != null && !known.removed) {
+                return known.chunk;
+            }
+        }
+        final Chunk built = chunk.getNeighbors(edge);
+        final Node neighbor = this.nodes.get(built);
+        return neighbor != null ? neighbor.chunk : built;
+    }
+
+    /**
+     * Returns the ring of a chunk of the neighborhood.
+     *
+     * @param chunk the chunk to look up
+     * @return the distance between the chunk and the center, or -1 if the chunk
+     *         is not part of the neighborhood
+     */
+    public int getRing(final Chunk chunk) {
+        final Node node = this.nodes.get(chunk);
+        return node == null ? -1 : node.ring;
+    }
+
+    /**
+     * Returns the number of links the last update had to resolve by building or
+     * looking up a chunk. The links already known are followed without being
+     * counted.
+     *
+     * @return the number of links resolved by the last update
+     */
+    public int getResolvedLinks() {
+        return this.resolved;
+    }
+
+    /**
+     * Moves the center of the neighborhood to the given chunk.
+     *
+     * The chunks keep their nodes and links: the rings are re-derived by a
+     * breadth-first walk that follows the known links, and only the links of
+     * the chunks that were on the outer ring are resolved. A chunk {@code k}
+     * rings away from the previous center is at most {@code k + r} rings away
+     * from a new center {@code r} rings away, so only the outer {@code r} rings
+     * are checked for chunks leaving the neighborhood. The diff with the
+     * previous neighborhood is available through {@link #getAdded()} and
+     * {@link #getRemoved()}.
+     *
+     * @param center the new center chunk
+     */
+    public void recenter(final Chunk center) {
+        this.rebuild(center);
+    }
+
+    /**
+     * Changes the depth of the neighborhood in place.
+     *
+     * Growing expands the outer ring further; shrinking drops the outer rings.
+     * The diff with the previous rings is available through {@link #getAdded()}
+     * and {@link #getRemoved()}.
+     *
+     * @param depth the new number of rings around the center chunk
+     */
+    public void resize(final int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("The depth must not be negative");
+        }
+        this.resolved = 0;
+        final List<Chunk> newlyAdded = new ArrayList<>();
+        final List<Chunk> newlyRemoved = new ArrayList<>();
+        final int previous = this.depth;
+        this.depth = depth;
+        final List<List<Chunk>> newRings = new ArrayList<>(this.rings.subList(0, Math.min(depth, previous) + 1));
+
+        for (int k = depth + 1; k <= previous; k++) {
+            for (final Chunk chunk : this.rings.get(k)) {
+                this.drop(this.nodes.get(chunk), newlyRemoved);
+            }
+        }
+        if (depth > previous) {
+            final List<Node> outer = new ArrayList<>();
+            for (final Chunk chunk : this.rings.get(previous)) {
+                outer.add(this.nodes.get(chunk));
+            }
+            this.grow(newRings, outer, newlyAdded);
+        }
+
+        this.rings = Collections.unmodifiableList(newRings);
+        this.added = Collections.unmodifiableList(newlyAdded);
+        this.removed = Collections.unmodifiableList(newlyRemoved);
+    }
+
+    /**
+     * Chooses whether the next rings are expanded by fork/join tasks. The rings
+     * are the same either way, so the current ones are kept.
+     *
+     * @param parallel true to expand the rings in parallel
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Rebuilds the rings around a center chunk and records the diff with the
+     * previous rings. The constructor shares it with {@link #recenter(Chunk)}.
+     *
+     * @param center the new center chunk
+     */
+    private void rebuild(final Chunk center) {
+        // The rings can only be read from the nodes before the new walk
+        final List<Node> candidates = new ArrayList<>();
+        final Node known = this.nodes.get(center);
+        if (known == null) {
+            candidates.addAll(this.nodes.values());
+        } else {
+            for (int k = Math.max(0, this.depth - known.ring + 1); k <= this.depth; k++) {
+                for (final Chunk chunk : this.rings.get(k)) {
+                    candidates.add(this.nodes.get(chunk));
+                }
+            }
+        }
+
+        this.stamp++;
+        this.resolved = 0;
+
+        final List<Chunk> newlyAdded = new ArrayList<>();
+        final List<List<Chunk>> newRings = new ArrayList<>();
+
+        final Node centerNode = known != null ? known : this.track(center, newlyAdded);
+        centerNode.ring = 0;
+        centerNode.stamp = this.stamp;
+        newRings.add(List.of(centerNode.chunk));
+        this.grow(newRings, List.of(centerNode), newlyAdded);
+
+        // Drop the chunks that were not reached from the new center
+        final List<Chunk> newlyRemoved = new ArrayList<>();
+        for (final Node node : candidates) {
+            if (node.stamp != this.stamp) {
+                this.drop(node, newlyRemoved);
+            }
+        }
+
+        this.rings = Collections.unmodifiableList(newRings);
+        this.added = Collections.unmodifiableList(newlyAdded);
+        this.removed = Collections.unmodifiableList(newlyRemoved);
+    }
+
+    /**
+     * Adds rings breadth-first until the neighborhood reaches its depth. The
+     * known links are followed as they are; only the missing ones are resolved.
+     *
+     * @param rings      the rings built so far, receiving the new rings
+     * @param outer      the nodes of the last ring built so far
+     * @param newlyAdded the list receiving the chunks built by the walk
+     */
+    private void grow(final List<List<Chunk>> rings, final List<Node> outer, final List<Chunk> newlyAdded) {
+        List<Node> frontier = outer;
+        for (int k = rings.size(); k <= this.depth; k++) {
+            final List<Node> next = new ArrayList<>();
+            final List<Chunk> ring = new ArrayList<>();
+            final Chunk[][] built = this.parallel ? Neighborhood.expand(frontier) : null;
+            for (int i = 0; i < frontier.size(); i++) {
+                final Node node = frontier.get(i);
+                for (int edge = 0; edge < node.links.length; edge++) {
+                    Node neighbor = node.links[edge];
+                    if (neighbor == null || neighbor.removed) {
+                        final Chunk chunk = built == null ? null : built[i][edge];
+                        neighbor = this.link(node, edge, chunk, newlyAdded);
+                    }
+                    if (neighbor.stamp == this.stamp) {
+                        continue;
+                    }
+                    neighbor.stamp = this.stamp;
+                    neighbor.ring = k;
+                    next.add(neighbor);
+                    ring.add(neighbor.chunk);
+                }
+            }
+            rings.add(Collections.unmodifiableList(ring));
+            frontier = next;
+        }
+    }
+
+    /**
+     * Resolves a missing link of a node, building the neighboring chunk when it
+     * was not built yet.
+     *
+     * @param node       the node to start from
+     * @param edge       the index of the edge, in the frame of the node's chunk
+     * @param chunk      the neighboring chunk if it was already built, or
+     *                   {@code null}
+     * @param newlyAdded the list receiving the chunks built by this call
+     * @return the neighbor node
+     */
+    private Node link(final Node node, final int edge, final Chunk chunk, final List<Chunk> newlyAdded) {
+        this.resolved++;
+        final Chunk built = chunk != null ? chunk : node.chunk.getNeighbors(edge);
+        Node neighbor = this.nodes.get(built);
+        if (neighbor == null) {
+            neighbor = this.track(built, newlyAdded);
+        }
+        node.links[edge] = neighbor;
+        return neighbor;
+    }
+
+    /**
+     * Removes a node from the neighborhood and forgets the links its neighbors
+     * have to it.
+     *
+     * @param node         the node leaving the neighborhood
+     * @param newlyRemoved the list receiving the removed chunks
+     */
+    private void drop(final Node node, final List<Chunk> newlyRemoved) {
+        this.nodes.remove(node.chunk);
+        node.removed = true;
+        newlyRemoved.add(node.chunk);
+        for (final Node neighbor : node.links) {
+            if (neighbor == null) {
+                continue;
+            }
+            for (int i = 0; i < neighbor.links.length; i++) {
+                if (neighbor.links[i] == node) {
+                    neighbor.links[i] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds in parallel the neighbors of a frontier whose links are not known.
+     *
+     * The chunks are deduplicated by address as they are built, so that the
+     * same tile reached from two frontier chunks is a single instance even
+     * without a pool.
+     *
+     * @param frontier the nodes to expand
+     * @return the neighbors of each node indexed by edge, {@code null} where the
+     *         link is known
+     */
+    private static Chunk[][] expand(final List<Node> frontier) {
+        final Chunk[][] built = new Chunk[frontier.size()][];
+        new Expansion(frontier, built, new ConcurrentHashMap<>(), 0, frontier.size()).invoke();
+        return built;
+    }
+
+    /**
+     * A fork/join task building the neighbors of a slice of a frontier.
+     */
+    private static final class Expansion extends RecursiveAction {
+
+        /**
+         * The version of the serialized form inherited from the task.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The nodes to expand.
+         */
+        private final transient List<Node> frontier;
+
+        /**
+         * The neighbors built, indexed by frontier position then by edge.
+         */
+        private final transient Chunk[][] built;
+
+        /**
+         * The chunks built so far by all the tasks, indexed by address.
+         */
+        private final transient Map<ChunkAddress, Chunk> chunks;
+
+        /**
+         * The first position of the slice.
+         */
+        private final int from;
+
+        /**
+         * The position after the last one of the slice.
+         */
+        private final int to;
+
+        Expansion(final List<Node> frontier, final Chunk[][] built, final Map<ChunkAddress, Chunk> chunks,
+                final int from, final int to) {
+            this.frontier = frontier;
+            this.built = built;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > Neighborhood.FORK_THRESHOLD) {
+                final int middle = (this.from + this.to) >>> 1;
+                RecursiveAction.invokeAll(
+                        new Expansion(this.frontier, this.built, this.chunks, this.from, middle),
+                        new Expansion(this.frontier, this.built, this.chunks, middle, this.to));
+                return;
+            }
+            for (int i = this.from; i < this.to; i++) {
+                final Node node = this.frontier.get(i);
+                final Chunk[] neighbors = new Chunk[node.links.length];
+                for (int edge = 0; edge < neighbors.length; edge++) {
+                    final Node known = node.links[edge];
+                    if (known != null && !known.removed) {
+                        continue;
+                    }
+                    final Chunk chunk = node.chunk.getNeighbors(edge);
+                    final Chunk existing = this.chunks.putIfAbsent(chunk.getAddress(), chunk);
+                    neighbors[edge] = existing != null ? existing : chunk;
+                }
+                this.built[i] = neighbors;
+            }
+        }
+    }
+
+    /**
+     * Starts tracking a chunk that was not part of the neighborhood.
+     *
+     * @param chunk      the chunk to track
+     * @param newlyAdded the list receiving the added chunks
+     * @return the node created for the chunk
+     */
+    private Node track(final Chunk chunk, final List<Chunk> newlyAdded) {
+        final Node node = new Node(chunk);
+        this.nodes.put(chunk, node);
+        newlyAdded.add(chunk);
+        return node;
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.List;
+
+/**
+ * Listener notified when chunks enter or leave the neighborhood of a
+ * {@link Paving}.
+ *
+ * Renderers can use it to attach and detach only the geometry that changed.
+ */
+@FunctionalInterface
+public interface NeighborhoodListener {
+
+    /**
+     * Called after the neighborhood of the paving changed.
+     *
+     * @param added   the chunks that entered the neighborhood
+     * @param removed the chunks that left the neighborhood
+     */
+    void neighborhoodChanged(List<Chunk> added, List<Chunk> removed);
+}
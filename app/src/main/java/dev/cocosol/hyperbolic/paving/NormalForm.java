@@ -0,0 +1,138 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+
+/**
+ * Computes the normal form of chunk addresses in the {4,5} tiling.
+ *
+ * The normal form is maintained by a rewriting automaton that reads one
+ * direction at a time. Since the address it extends is already in normal form,
+ * a rule can only match at the end of the path; the rewritten steps are fed
+ * back to the automaton so that the rules they create are resolved in turn.
+ * The rules are:
+ * <ul>
+ * <li>{@code X B} → {@code ε}: going backward undoes the previous step</li>
+ * <li>{@code Y R R} → {@code Y.clockwise L}, and symmetrically for {@code L}:
+ * going around a vertex the short way</li>
+ * <li>{@code Y R F…F R} → {@code Y.clockwise (L F)…(L F) L}</li>
+ * </ul>
+ * Each rule also changes the holonomy, which is the correction applied to the
+ * next direction read.
+ */
+final class NormalForm {
+
+    /**
+     * The address read so far, in normal form.
+     */
+    private ChunkAddress address;
+
+    /**
+     * The correction to apply to the next direction read.
+     */
+    private Direction holonomy;
+
+    /**
+     * Constructs an automaton in the given state.
+     *
+     * @param address  an address in normal form
+     * @param holonomy the holonomy of the address
+     */
+    private NormalForm(final ChunkAddress address, final Direction holonomy) {
+        this.address = address;
+        this.holonomy = holonomy;
+    }
+
+    /**
+     * Extends an address in normal form by one step.
+     *
+     * @param address   an address in normal form
+     * @param holonomy  the holonomy of the address
+     * @param direction the direction of the step, relative to the holonomy
+     * @return the extended address in normal form, with its holonomy
+     */
+    static SimpleEntry<ChunkAddress, Direction> append(final ChunkAddress address, final Direction holonomy,
+            final Direction direction) {
+        final NormalForm automaton = new NormalForm(address, holonomy);
+        automaton.read(direction);
+        return new SimpleEntry<>(automaton.address, automaton.holonomy);
+    }
+
+    /**
+     * Computes the normal form of a path of directions, one step at a time.
+     *
+     * @param directions the path of directions from the origin
+     * @return the address in normal form, with its holonomy
+     */
+    static SimpleEntry<ChunkAddress, Direction> of(final List<Direction> directions) {
+        final NormalForm automaton = new NormalForm(ChunkAddress.EMPTY, Direction.FORWARD);
+        for (final Direction direction : directions) {
+            automaton.read(direction);
+        }
+        return new SimpleEntry<>(automaton.address, automaton.holonomy);
+    }
+
+    /**
+     * Reads one direction and rewrites the end of the address if a rule matches.
+     *
+     * @param direction the direction read, relative to the current holonomy
+     */
+    private void read(final Direction direction) {
+        final Direction step = this.holonomy.add(direction);
+        this.holonomy = Direction.FORWARD;
+
+        final int length = this.address.length();
+
+        // Rule 1: Undo BACKWARD operations
+        if (step == Direction.BACKWARD && length >= 1) {
+            final Direction last = this.address.last();
+            this.address = this.address.removeLast();
+            this.holonomy = last.opposite();
+            return;
+        }
+
+        // Rule 2: Merge repeated directions
+        if ((step == Direction.RIGHT || step == Direction.LEFT) && length >= 2 && this.address.last() == step) {
+            final Direction fst = this.address.get(length - 2);
+            this.address = this.address.removeLast().removeLast();
+            if (step == Direction.RIGHT) {
+                this.read(fst.clockwise());
+                this.read(Direction.LEFT);
+                this.holonomy = this.holonomy.clockwise();
+            } else {
+                this.read(fst.anticlockwise());
+                this.read(Direction.RIGHT);
+                this.holonomy = this.holonomy.anticlockwise();
+            }
+            return;
+        }
+
+        // Rule 3: Y + R (F*n) R -> Y.clockwise + (LF*n) L
+        if (step == Direction.RIGHT) {
+            final int fCount = this.address.trailingRun(Direction.FORWARD);
+            final int r1Index = length - fCount - 1;
+            if (fCount > 0 && r1Index >= 1 && this.address.get(r1Index) == Direction.RIGHT) {
+                final Direction y = this.address.get(r1Index - 1);
+                for (int k = 0; k < fCount + 2; k++) {
+                    this.address = this.address.removeLast();
+                }
+                this.read(y.clockwise());
+                for (int k = 0; k < fCount; k++) {
+                    this.read(Direction.LEFT);
+                    this.read(Direction.FORWARD);
+                }
+                this.read(Direction.LEFT);
+                this.holonomy = this.holonomy.clockwise();
+                return;
+            }
+        }
+
+        this.address = this.address.append(step);
+    }
+}
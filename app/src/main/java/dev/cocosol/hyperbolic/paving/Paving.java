@@ -7,10 +7,14 @@
 package dev.cocosol.hyperbolic.paving;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import dev.cocosol.Complex;
 import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Projection;
+import dev.cocosol.hyperbolic.transformation.Isometry;
 import dev.cocosol.hyperbolic.transformation.Rotation;
 import dev.cocosol.hyperbolic.transformation.Translation;
 
@@ -21,11 +25,73 @@ import dev.cocosol.hyperbolic.transformation.Translation;
  */
 public class Paving {
 
+    /**
+     * The distance from the anchor beyond which the center chunk becomes the new
+     * anchor of the placements.
+     */
+    private static final double REBASE_DISTANCE = 8;
+
+    /**
+     * The default size, in pixels, under which a visible chunk is not expanded
+     * any further.
+     */
+    public static final double DEFAULT_MIN_PIXELS = 2;
+
+    /**
+     * The default number of chunks at which the walk of the visible chunks
+     * stops.
+     *
+     * A disk drawn with {@code s} pixels per unit holds about {@code 10 s}
+     * chunks down to the pixel size, so this covers disks several thousand
+     * pixels wide. Projections magnifying the rim, such as the gnomonic and the
+     * half-plane ones, never shrink some chunks under the threshold and always
+     * reach it.
+     */
+    public static final int DEFAULT_MAX_VISIBLE_CHUNKS = 1 << 15;
+
+    /**
+     * The pool interning the chunks of the paving.
+     */
+    private final ChunkPool pool;
+
     /**
      * The central chunk located at the origin of the disk.
      * This is the “true” central tile of the paving.
      */
-    public Chunk centerChunk = Chunk.origin();
+    public Chunk centerChunk;
+
+    /**
+     * The neighborhood kept around the center chunk, or {@code null} when no
+     * rings were requested yet.
+     */
+    private Neighborhood neighborhood;
+
+    /**
+     * True if the rings of the neighborhood are expanded by fork/join tasks.
+     */
+    private boolean parallel;
+
+    /**
+     * The listeners notified when chunks enter or leave the neighborhood.
+     */
+    private final List<NeighborhoodListener> listeners = new ArrayList<>();
+
+    /**
+     * Constructs a paving of the {4,5} tiling.
+     */
+    public Paving() {
+        this(Tiling.DEFAULT);
+    }
+
+    /**
+     * Constructs a paving of a tiling, centered on its origin chunk.
+     *
+     * @param tiling the tiling to pave the disk with
+     */
+    public Paving(final Tiling tiling) {
+        this.pool = new ChunkPool(tiling, ChunkPool.DEFAULT_CAPACITY);
+        this.centerChunk = this.pool.origin();
+    }
 
     /**
      * Applies a translational movement in the hyperbolic plane,
@@ -37,15 +103,18 @@ public class Paving {
     public void applyMovement(final double angle, final double speed) {
         final Complex newCenter = Complex.exponent(speed, angle);
         final Translation translation = new Translation(Point.fromComplex(newCenter));
+        this.applyMotion(translation.toIsometry());
+    }
 
-        // Apply the translation to each vertex of the centerChunk and the
-        // approximateCenterChunk.
-        for (int i = 0; i < 4; i++) {
-            // Update the vertex positions for the center chunk.
-            final Point p = translation.apply(this.centerChunk.vertices.get(i));
-            this.centerChunk.vertices.get(i).x = p.x;
-            this.centerChunk.vertices.get(i).y = p.y;
-        }
+    /**
+     * Applies any motion of the viewer at once, given as the isometry moving the
+     * disk, and follows the chunk containing the center of the disk.
+     *
+     * @param motion the isometry to apply to the disk after the current view
+     */
+    public void applyMotion(final Isometry motion) {
+        // Moving the view moves every chunk at once.
+        this.pool.getView().apply(motion);
 
         // Check if we are in the current chunk
         while (true) {
@@ -53,9 +122,17 @@ public class Paving {
             if (exitingEdge == null) {
                 break;
             }
-            final Direction dir = this.centerChunk.getDirectionFromPoints(exitingEdge[0], exitingEdge[1]);
-            this.centerChunk = this.centerChunk.getNeighbors(dir);
+            final int edge = this.centerChunk.getEdgeFromPoints(exitingEdge[0], exitingEdge[1]);
+            if (this.neighborhood == null) {
+                this.centerChunk = this.centerChunk.getNeighbors(edge);
+                continue;
+            }
+            // Reuse the neighborhood: only the rings coming into range are built.
+            this.centerChunk = this.neighborhood.getNeighbor(this.centerChunk, edge);
+            this.neighborhood.recenter(this.centerChunk);
+            this.fireNeighborhoodChanged(this.neighborhood.getAdded(), this.neighborhood.getRemoved());
         }
+        this.rebase();
     }
 
     /**
@@ -66,11 +143,11 @@ public class Paving {
      *         edge is found
      */
     public Point[] findExitEdge() {
-        final Point[] quad = this.centerChunk.vertices.toArray(new Point[0]);
+        final Point[] polygon = this.centerChunk.getVertices().toArray(new Point[0]);
 
-        for (int i = 0; i < 4; i++) {
-            final Point p1 = quad[i];
-            final Point p2 = quad[(i + 1) % 4];
+        for (int i = 0; i < polygon.length; i++) {
+            final Point p1 = polygon[i];
+            final Point p2 = polygon[(i + 1) % polygon.length];
 
             final double orientInside = this.centerChunk.getCenter().orientation(p1, p2);
             final double orientOutside = Point.ORIGIN.orientation(p1, p2);
@@ -90,12 +167,118 @@ public class Paving {
      */
     public void applyRotation(final double angle) {
         final Rotation rotation = new Rotation(angle);
-        // Apply the rotation transformation to each vertex of the center and
-        // approximate chunks.
-        for (int i = 0; i < 4; i++) {
-            final Point p = rotation.apply(this.centerChunk.vertices.get(i));
-            this.centerChunk.vertices.get(i).x = p.x;
-            this.centerChunk.vertices.get(i).y = p.y;
+        this.pool.getView().apply(rotation.toIsometry());
+    }
+
+    /**
+     * Moves the anchor of the placements to the center chunk once it is far
+     * from the current anchor.
+     *
+     * The placements of distant chunks have large matrix entries, and seeing
+     * them through the view cancels most of their significant digits. Moving the
+     * anchor keeps the placements of the chunks around the center small. It
+     * changes neither the vertices nor the addresses of the chunks.
+     */
+    private void rebase() {
+        final Isometry anchor = this.centerChunk.getPlacement();
+        if (anchor.coshDisplacement() < Math.cosh(Paving.REBASE_DISTANCE)) {
+            return;
+        }
+        final Isometry inverse = anchor.inverse();
+        for (final Chunk chunk : this.getPlacedChunks()) {
+            chunk.rebase(inverse);
+        }
+        final View view = this.pool.getView();
+        view.set(view.get().compose(anchor));
+    }
+
+    /**
+     * Returns the chunks placed relative to the anchor of the paving: the chunks
+     * of the pool, then the chunks of the neighborhood and the center chunk that
+     * were evicted from it. Each chunk is returned once.
+     *
+     * @return the chunks placed in the disk
+     */
+    private List<Chunk> getPlacedChunks() {
+        final List<Chunk> chunks = this.pool.getChunks();
+        if (this.neighborhood != null) {
+            for (final Chunk chunk : this.neighborhood.getChunks()) {
+                if (!this.pool.isInterned(chunk)) {
+                    chunks.add(chunk);
+                }
+            }
+        }
+        if (!this.pool.isInterned(this.centerChunk)
+                && (this.neighborhood == null || !this.neighborhood.contains(this.centerChunk))) {
+            chunks.add(this.centerChunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Returns the pool interning the chunks of the paving.
+     *
+     * @return the chunk pool
+     */
+    public ChunkPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * Chooses whether the rings of the neighborhood are expanded by fork/join
+     * tasks. Parallel expansion pays off for deep neighborhoods; the rings are
+     * the same either way.
+     *
+     * @param parallel true to expand the rings in parallel
+     */
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+        if (this.neighborhood != null) {
+            this.neighborhood.setParallel(parallel);
+        }
+    }
+
+    /**
+     * Returns whether the rings of the neighborhood are expanded by fork/join
+     * tasks.
+     *
+     * @return true if the rings are expanded in parallel
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Registers a listener notified each time chunks enter or leave the
+     * neighborhood kept by the paving.
+     *
+     * @param listener the listener to add
+     */
+    public void addNeighborhoodListener(final NeighborhoodListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a neighborhood listener.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeNeighborhoodListener(final NeighborhoodListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Notifies the listeners of a change of the neighborhood.
+     *
+     * @param added   the chunks that entered the neighborhood
+     * @param removed the chunks that left the neighborhood
+     */
+    private void fireNeighborhoodChanged(final List<Chunk> added, final List<Chunk> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        for (final NeighborhoodListener listener : this.listeners) {
+            listener.neighborhoodChanged(added, removed);
         }
     }
 
@@ -103,24 +286,166 @@ public class Paving {
      * Returns a list of all chunks within a specified neighbor depth
      * from the central chunk. The depth defines how many "layers"
      * of neighboring chunks are retrieved.
+     * 
+     * The chunks are ordered ring by ring, starting with the center chunk. Like
+     * {@link #getRings(int)}, a depth within the kept neighborhood leaves it
+     * alone.
      *
      * @param n the depth of neighbor retrieval; 0 returns only the center chunk
      * @return a list of all unique neighboring chunks up to the given depth
+     * @throws IllegalArgumentException if the depth is negative
      */
     public List<Chunk> getAllNeighbors(final int n) {
-        if (n == 0) {
-            // Base case: only the approximate center is needed.
-            return new ArrayList<>(List.of(this.centerChunk));
-        }
-        final List<Chunk> neighbors = this.getAllNeighbors(n - 1);
-        for (final Chunk chunk : new ArrayList<>(neighbors)) {
-            for (final Direction direction : Direction.values()) {
-                final Chunk newChunk = chunk.getNeighbors(direction);
-                if (!neighbors.contains(newChunk)) {
-                    neighbors.add(newChunk);
+        final List<Chunk> neighbors = new ArrayList<>();
+        for (final List<Chunk> ring : this.getRings(n)) {
+            neighbors.addAll(ring);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Returns the chunks large enough to be seen on the screen, starting with the
+     * center chunk, with at most {@link #DEFAULT_MAX_VISIBLE_CHUNKS} chunks.
+     *
+     * @param projection    the projection the chunks are drawn with
+     * @param pixelsPerUnit the number of pixels per unit of the projection plane
+     * @param minPixels     the size, in pixels, under which a chunk is not
+     *                      expanded
+     * @return the visible chunks, each one once
+     * @see #getVisibleChunks(Projection, double, double, int)
+     */
+    public List<Chunk> getVisibleChunks(final Projection projection, final double pixelsPerUnit,
+            final double minPixels) {
+        return this.getVisibleChunks(projection, pixelsPerUnit, minPixels, Paving.DEFAULT_MAX_VISIBLE_CHUNKS);
+    }
+
+    /**
+     * Returns the chunks large enough to be seen on the screen, starting with the
+     * center chunk.
+     * 
+     * The chunks are walked breadth-first from the center chunk, and a chunk is
+     * expanded only while its projected size stays above the threshold: the
+     * walk reaches the pixel size in every direction, then stops. The chunks
+     * below the threshold are returned but not expanded.
+     * 
+     * The walk also stops as soon as it holds {@code maxChunks} chunks. The
+     * chunks are then the first ones in breadth-first order, the closest to the
+     * center chunk, and the farthest chunks still above the threshold are
+     * missing. Projections magnifying the rim of the disk, such as the gnomonic
+     * and the half-plane ones, never shrink some chunks under the threshold and
+     * always reach the limit.
+     *
+     * @param projection    the projection the chunks are drawn with
+     * @param pixelsPerUnit the number of pixels per unit of the projection plane
+     * @param minPixels     the size, in pixels, under which a chunk is not
+     *                      expanded
+     * @param maxChunks     the number of chunks at which the walk stops
+     * @return the visible chunks, each one once
+     * @throws IllegalArgumentException if the maximum number of chunks is not
+     *                                  positive
+     */
+    public List<Chunk> getVisibleChunks(final Projection projection, final double pixelsPerUnit,
+            final double minPixels, final int maxChunks) {
+        if (maxChunks < 1) {
+            throw new IllegalArgumentException("The maximum number of chunks must be positive");
+        }
+        final List<Chunk> visible = new ArrayList<>();
+        final Set<Chunk> seen = new HashSet<>();
+        visible.add(this.centerChunk);
+        seen.add(this.centerChunk);
+
+        for (int i = 0; i < visible.size() && visible.size() < maxChunks; i++) {
+            final Chunk chunk = visible.get(i);
+            if (i > 0 && Paving.projectedSize(chunk, projection) * pixelsPerUnit < minPixels) {
+                continue;
+            }
+            for (int edge = 0; edge < chunk.getTiling().getP() && visible.size() < maxChunks; edge++) {
+                final Chunk neighbor = chunk.getNeighbors(edge);
+                if (seen.add(neighbor)) {
+                    visible.add(neighbor);
                 }
             }
         }
-        return neighbors;
+        return visible;
+    }
+
+    /**
+     * Returns the size of a chunk once projected: the largest side of the
+     * bounding box of its projected vertices.
+     *
+     * @param chunk      the chunk to measure
+     * @param projection the projection the chunk is drawn with
+     * @return the projected size, infinite if a vertex is projected to infinity
+     */
+    private static double projectedSize(final Chunk chunk, final Projection projection) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (final Point vertex : chunk.getVertices()) {
+            final Point projected = projection.project(vertex);
+            if (!Double.isFinite(projected.x) || !Double.isFinite(projected.y)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            minX = Math.min(minX, projected.x);
+            minY = Math.min(minY, projected.y);
+            maxX = Math.max(maxX, projected.x);
+            maxY = Math.max(maxY, projected.y);
+        }
+        return Math.max(maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Returns the chunks within a specified neighbor depth from the central
+     * chunk, grouped by ring. Ring {@code k} holds the chunks that are exactly
+     * {@code k} steps away from the center chunk.
+     * 
+     * The paving keeps the neighborhood between calls and updates it when the
+     * center chunk changes. A depth within the kept one is served from its first
+     * rings, leaving the neighborhood and its listeners alone; a deeper one
+     * grows it in place, so the listeners only hear about the rings gained.
+     *
+     * @param n the depth of neighbor retrieval; 0 returns only the center chunk
+     * @return the {@code n + 1} rings of chunks, from the center outwards
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public List<List<Chunk>> getRings(final int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("The depth must not be negative");
+        }
+        if (n > this.getNeighborhoodDepth()) {
+            this.setNeighborhoodDepth(n);
+        }
+        return this.neighborhood.getRings().subList(0, n + 1);
+    }
+
+    /**
+     * Returns the number of rings of the neighborhood kept around the center
+     * chunk: the largest depth requested so far, unless set since.
+     *
+     * @return the depth of the kept neighborhood, or {@code -1} when no rings
+     *         were requested yet
+     */
+    public int getNeighborhoodDepth() {
+        return this.neighborhood == null ? -1 : this.neighborhood.getDepth();
+    }
+
+    /**
+     * Sets the number of rings of the neighborhood kept around the center chunk,
+     * and resizes it in place. The listeners hear about the rings gained or
+     * lost.
+     *
+     * @param depth the depth of the kept neighborhood
+     * @throws IllegalArgumentException if the depth is negative
+     */
+    public void setNeighborhoodDepth(final int depth) {
+        if (this.neighborhood == null) {
+            this.neighborhood = new Neighborhood(this.centerChunk, depth, this.parallel);
+        } else if (this.neighborhood.getDepth() != depth) {
+            this.neighborhood.resize(depth);
+        } else {
+            return;
+        }
+        this.fireNeighborhoodChanged(this.neighborhood.getAdded(), this.neighborhood.getRemoved());
     }
 }
@@ -0,0 +1,351 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Geodesic;
+import dev.cocosol.hyperbolic.HyperbolicMath;
+import dev.cocosol.hyperbolic.transformation.Isometry;
+import dev.cocosol.hyperbolic.transformation.Reflexion;
+import dev.cocosol.hyperbolic.transformation.Rotation;
+
+/**
+ * Describes a regular {p,q} tiling of the hyperbolic plane: p-gons meeting q at
+ * each vertex.
+ *
+ * The descriptor precomputes everything a chunk needs to find its neighbors:
+ * the vertices of the origin tile, the isometries mapping the origin tile onto
+ * its neighbors and the normal form of the addresses. The edges of a tile are
+ * numbered counter-clockwise; in the frame of a tile, edge {@code i} joins
+ * vertices {@code i} and {@code i + 1}.
+ *
+ * The {4,5} tiling uses the rewriting automaton of {@link NormalForm}, whose
+ * steps are directions. The other tilings use the spanning tree of a
+ * {@link TreeAutomaton}, built from the layers of the tiling: the frame of a
+ * tile has its edge 0 facing its parent, and the address of a tile is the list
+ * of steps taken from the origin along the tree. Neither reads the placement
+ * of a tile, so they work the same however far from the origin.
+ */
+public final class Tiling {
+
+    /**
+     * The {4,5} tiling: squares meeting five at each vertex.
+     */
+    public static final Tiling DEFAULT = new Tiling(4, 5);
+
+    /**
+     * The descriptors built so far, by Schläfli symbol.
+     */
+    private static final Map<Long, Tiling> TILINGS = new ConcurrentHashMap<>();
+
+    /**
+     * The number of edges of a tile.
+     */
+    private final int p;
+
+    /**
+     * The number of tiles around a vertex.
+     */
+    private final int q;
+
+    /**
+     * The Euclidean distance from the center of the disk to the vertices of the
+     * origin tile.
+     */
+    private final double vertexRadius;
+
+    /**
+     * The vertices of the origin tile, counter-clockwise.
+     */
+    private final Point[] vertices;
+
+    /**
+     * The edge of a freshly reflected neighbor facing the tile it was reflected
+     * from.
+     */
+    private final int back;
+
+    /**
+     * The isometries mapping the origin tile onto its neighbors, indexed by edge.
+     * The neighbor across edge {@code i} faces the origin tile with its edge
+     * {@link #back}.
+     */
+    private final Isometry[] generators;
+
+    /**
+     * The isometries mapping a tile onto its neighbor in the frame of the
+     * neighbor's address, indexed by edge then by the rotation of the frame.
+     */
+    private final Isometry[][] steps;
+
+    /**
+     * The automaton of the addresses, or {@code null} for the {4,5} tiling.
+     */
+    private final TreeAutomaton automaton;
+
+    /**
+     * The number of bits of a step of an address.
+     */
+    private final int bits;
+
+    /**
+     * Constructs the descriptor of a tiling.
+     *
+     * @param p the number of edges of a tile
+     * @param q the number of tiles around a vertex
+     * @throws IllegalArgumentException if the tiling is not hyperbolic, or if its
+     *                                  tiles have more edges than a wall mask
+     *                                  holds
+     */
+    private Tiling(final int p, final int q) {
+        if (p < 3 || q < 3 || (p - 2) * (q - 2) <= 4) {
+            throw new IllegalArgumentException("{" + p + "," + q + "} is not a hyperbolic tiling");
+        }
+        if (p > Long.SIZE) {
+            throw new IllegalArgumentException("Tiles have at most " + Long.SIZE + " edges");
+        }
+        this.p = p;
+        this.q = q;
+        this.vertexRadius = Math.sqrt(Math.cos(Math.PI / p + Math.PI / q) / Math.cos(Math.PI / p - Math.PI / q));
+        this.back = p / 2;
+
+        this.vertices = new Point[p];
+        for (int i = 0; i < p; i++) {
+            final double angle = (2 * i + 1) * Math.PI / p;
+            this.vertices[i] = new Point(this.vertexRadius * Math.cos(angle), this.vertexRadius * Math.sin(angle));
+        }
+
+        // A neighbor is the mirror image of the tile across the shared edge, with
+        // its vertices relabelled by the symmetry of the tile exchanging the
+        // shared edge and the back edge
+        this.generators = new Isometry[p];
+        for (int edge = 0; edge < p; edge++) {
+            final Geodesic geodesic = Geodesic.fromTwoPoints(this.vertices[edge], this.vertices[(edge + 1) % p]);
+            final Isometry relabel = Isometry.reflection((edge + this.back + 2) * Math.PI / p);
+            this.generators[edge] = new Reflexion(geodesic).toIsometry().compose(relabel);
+        }
+
+        this.steps = new Isometry[p][p];
+        for (int edge = 0; edge < p; edge++) {
+            for (int rotation = 0; rotation < p; rotation++) {
+                final Isometry unwind = new Rotation(-rotation * 2 * Math.PI / p).toIsometry();
+                this.steps[edge][rotation] = this.generators[edge].compose(unwind);
+            }
+        }
+
+        this.automaton = this.isAutomatic() ? null : TreeAutomaton.of(p, q);
+        this.bits = this.automaton == null ? 2 : this.automaton.bits();
+    }
+
+    /**
+     * Returns the descriptor of a {p,q} tiling. Every hyperbolic tiling whose
+     * tiles have at most 64 edges is supported; the descriptor of each one is
+     * built once, in a time bounded by p and q.
+     *
+     * @param p the number of edges of a tile
+     * @param q the number of tiles around a vertex
+     * @return the descriptor of the tiling
+     * @throws IllegalArgumentException if the tiling is not hyperbolic, or if its
+     *                                  tiles have more than 64 edges
+     */
+    public static Tiling of(final int p, final int q) {
+        if (p == Tiling.DEFAULT.p && q == Tiling.DEFAULT.q) {
+            return Tiling.DEFAULT;
+        }
+        return Tiling.TILINGS.computeIfAbsent((long) p << Integer.SIZE | q, symbol -> new Tiling(p, q));
+    }
+
+    /**
+     * Returns the number of edges of a tile.
+     *
+     * @return p
+     */
+    public int getP() {
+        return this.p;
+    }
+
+    /**
+     * Returns the number of tiles around a vertex.
+     *
+     * @return q
+     */
+    public int getQ() {
+        return this.q;
+    }
+
+    /**
+     * Returns the Euclidean distance from the center of the disk to the vertices
+     * of the origin tile.
+     *
+     * @return the radius of the vertices
+     */
+    public double getVertexRadius() {
+        return this.vertexRadius;
+    }
+
+    /**
+     * Returns the hyperbolic length of the edges of the tiles, from
+     * {@code cosh(length / 2) = cos(π/p) / sin(π/q)}.
+     *
+     * @return the length of an edge
+     */
+    public double getEdgeLength() {
+        return 2 * HyperbolicMath.acosh(Math.cos(Math.PI / this.p) / Math.sin(Math.PI / this.q));
+    }
+
+    /**
+     * Returns the vertices of the origin tile, counter-clockwise.
+     *
+     * @return a new list of the vertices
+     */
+    public List<Point> getOriginVertices() {
+        final List<Point> vertices = new ArrayList<>(this.p);
+        for (final Point vertex : this.vertices) {
+            vertices.add(new Point(vertex.x, vertex.y));
+        }
+        return vertices;
+    }
+
+    /**
+     * Returns a vertex of the origin tile.
+     *
+     * @param index the index of the vertex
+     * @return the vertex, which must not be modified
+     */
+    Point vertex(final int index) {
+        return this.vertices[index];
+    }
+
+    /**
+     * Returns whether the addresses are computed by the {4,5} rewriting
+     * automaton.
+     *
+     * @return true for the {4,5} tiling
+     */
+    private boolean isAutomatic() {
+        return this.p == 4 && this.q == 5;
+    }
+
+    /**
+     * Returns the address of the origin tile.
+     *
+     * @return the empty address, with steps wide enough for the tiling
+     */
+    ChunkAddress origin() {
+        return ChunkAddress.empty(this.bits);
+    }
+
+    /**
+     * Returns the placement of a tile relative to the origin tile, in the frame
+     * of its address.
+     *
+     * The placement is the product of the steps read along the address, away
+     * from the origin, so it keeps its relative precision however far the tile
+     * is.
+     *
+     * @param address the address of the tile
+     * @return the isometry mapping the origin tile onto the tile
+     */
+    Isometry world(final ChunkAddress address) {
+        Isometry world = Isometry.IDENTITY;
+        for (final int step : address.toSteps()) {
+            world = world.compose(this.childStep(step));
+        }
+        return world;
+    }
+
+    /**
+     * Returns the step from a tile to the tile extending its address by one step.
+     *
+     * @param step the step of the address
+     * @return the isometry mapping the tile onto the extended one
+     */
+    private Isometry childStep(final int step) {
+        if (this.isAutomatic()) {
+            // Reading a normal form one direction at a time never leaves a holonomy
+            return this.steps[Direction.values()[step].edge()][0];
+        }
+        return this.steps[this.automaton.edge(step)][this.mod(-this.back)];
+    }
+
+    /**
+     * Computes the neighbor of a tile across one of its edges.
+     *
+     * @param chunk the tile, in the frame of its address
+     * @param edge  the edge to cross
+     * @return the address of the neighbor, with the isometry mapping the tile
+     *         onto the neighbor in the frame of the neighbor's address
+     */
+    SimpleEntry<ChunkAddress, Isometry> step(final Chunk chunk, final int edge) {
+        final ChunkAddress address = chunk.getAddress();
+        if (this.isAutomatic()) {
+            final SimpleEntry<ChunkAddress, Direction> entry = NormalForm.append(address, Direction.FORWARD,
+                    Direction.fromEdge(edge));
+            return new SimpleEntry<>(entry.getKey(), this.steps[edge][entry.getValue().edge()]);
+        }
+
+        // The automaton gives the edge of the neighbor facing the tile, which
+        // tells the rotation of its frame
+        final SimpleEntry<ChunkAddress, Integer> entry = this.automaton.step(address, edge);
+        return new SimpleEntry<>(entry.getKey(), this.steps[edge][this.mod(entry.getValue() - this.back)]);
+    }
+
+    /**
+     * Reduces an edge index modulo the number of edges.
+     *
+     * @param value the index to reduce
+     * @return the index between 0 and {@code p - 1}
+     */
+    private int mod(final int value) {
+        return Math.floorMod(value, this.p);
+    }
+
+    /**
+     * Returns the Schläfli symbol of the tiling.
+     *
+     * @return the string {@code {p,q}}
+     */
+    @Override
+    public String toString() {
+        return "{" + this.p + "," + this.q + "}";
+    }
+
+    /**
+     * Checks whether this tiling is equal to another object.
+     * Two tilings are equal if they share the same Schläfli symbol.
+     *
+     * @param obj the object to compare
+     * @return true if equal, false otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || this.getClass() != obj.getClass()) {
+            return false;
+        }
+        final Tiling other = (Tiling) obj;
+        return this.p == other.p && this.q == other.q;
+    }
+
+    /**
+     * Returns the hash code of this tiling.
+     *
+     * @return the hash code of the Schläfli symbol
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.p + this.q;
+    }
+}
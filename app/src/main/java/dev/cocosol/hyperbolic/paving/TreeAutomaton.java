@@ -0,0 +1,369 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the addresses of the tiles of a {p,q} tiling along a spanning tree,
+ * with table lookups only.
+ *
+ * The tiles are sorted in layers by the number of edges crossed from the origin
+ * tile. The tiles up to a layer cover a disk whose boundary is a cycle of
+ * edges; each vertex of the cycle is counted by the number of covered tiles
+ * around it. A tile of the next layer lies across one edge of the cycle, or
+ * across two edges meeting at a vertex counted {@code q - 1}. Its parent is the
+ * tile across the second of them counter-clockwise, and the frame of a tile has
+ * its edge 0 facing its parent.
+ *
+ * The state of a tile is the number of edges it shares with the previous layer
+ * and the counts of the two vertices ending them. The counts of the vertices of
+ * the next cycle follow from the states alone, so the states of the children
+ * do too, and there are at most {@code 2 (q - 2)²} states. Each step of an
+ * address packs the edge of the parent leading to the tile with the state of
+ * the tile.
+ *
+ * Crossing an edge goes back to the parent, down to a child, or sideways to the
+ * previous or next tile of a layer, counter-clockwise. The next tile is the next
+ * child of the parent, or else the first child of the next tile of the parent's
+ * layer. None of it reads the placement of the tile, so a lookup costs the same
+ * whatever the distance to the origin.
+ */
+final class TreeAutomaton {
+
+    /**
+     * The state of the neighbors of the origin tile.
+     */
+    private static final int ROOT = 0;
+
+    /**
+     * The neighbor across an edge, relative to the spanning tree.
+     */
+    private enum Link {
+
+        /**
+         * The parent of the tile.
+         */
+        PARENT,
+
+        /**
+         * A child of the tile.
+         */
+        CHILD,
+
+        /**
+         * The other tile of the previous layer: the one before the parent.
+         */
+        LOWER,
+
+        /**
+         * The tile before in the same layer, sharing the edge.
+         */
+        PREVIOUS,
+
+        /**
+         * The tile after in the same layer, sharing the edge.
+         */
+        NEXT,
+
+        /**
+         * The first child of the tile after in the same layer, whose other
+         * parent is the tile.
+         */
+        NEXT_CHILD
+    }
+
+    /**
+     * The number of edges of a tile.
+     */
+    private final int p;
+
+    /**
+     * The states of the children of a tile, indexed by state then by edge, or
+     * {@code -1} for the edges not leading to a child.
+     */
+    private final int[][] children;
+
+    /**
+     * The neighbors across the edges of a tile, indexed by state then by edge.
+     */
+    private final Link[][] links;
+
+    /**
+     * The number of edges each state shares with the previous layer.
+     */
+    private final int[] runs;
+
+    /**
+     * The first edge of each state leading to a child, or {@code -1}.
+     */
+    private final int[] firstChildren;
+
+    /**
+     * The last edge of each state leading to a child, or {@code -1}.
+     */
+    private final int[] lastChildren;
+
+    /**
+     * The last edge of each state leading to the next layer.
+     */
+    private final int[] lastEdges;
+
+    /**
+     * The number of bits of a step.
+     */
+    private final int bits;
+
+    /**
+     * Constructs an automaton from its tables.
+     *
+     * @param p         the number of edges of a tile
+     * @param children  the states of the children, by state and edge
+     * @param links     the neighbors across the edges, by state and edge
+     * @param runs      the number of edges each state shares with the previous
+     *                  layer
+     * @param lastEdges the last edge of each state leading to the next layer
+     */
+    private TreeAutomaton(final int p, final int[][] children, final Link[][] links, final int[] runs,
+            final int[] lastEdges) {
+        this.p = p;
+        this.children = children;
+        this.links = links;
+        this.runs = runs;
+        this.lastEdges = lastEdges;
+        this.firstChildren = new int[children.length];
+        this.lastChildren = new int[children.length];
+        Arrays.fill(this.firstChildren, -1);
+        Arrays.fill(this.lastChildren, -1);
+        for (int state = 0; state < children.length; state++) {
+            for (int edge = 0; edge < p; edge++) {
+                if (children[state][edge] >= 0) {
+                    this.lastChildren[state] = edge;
+                    if (this.firstChildren[state] < 0) {
+                        this.firstChildren[state] = edge;
+                    }
+                }
+            }
+        }
+        this.bits = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(children.length * p - 1));
+    }
+
+    /**
+     * Builds the automaton of a hyperbolic tiling from the states reachable
+     * from the neighbors of the origin tile.
+     *
+     * A tile across {@code r} edges of the boundary, between vertices counted
+     * {@code a} and {@code b}, adds its {@code p - r} other edges to the next
+     * boundary. A vertex counted {@code q - 2} is closed by the two tiles across
+     * the edges meeting there, which then share the edge leaving it: the far end
+     * of that edge is counted 2. Any other vertex gains these two tiles, and the
+     * vertices only on the tile are counted 1.
+     *
+     * @param p the number of edges of a tile
+     * @param q the number of tiles around a vertex
+     * @return the automaton of the tiling
+     * @throws IllegalStateException if a tile has no edge on the next layer, or
+     *                               a single one ending on a vertex counted
+     *                               {@code q - 1}, which no hyperbolic tiling
+     *                               has
+     */
+    static TreeAutomaton of(final int p, final int q) {
+        final List<List<Integer>> signatures = new ArrayList<>(List.of(List.of(1, 1, 1)));
+        final Map<List<Integer>, Integer> states = new HashMap<>(Map.of(signatures.get(0), 0));
+        final List<int[]> children = new ArrayList<>();
+        final List<Link[]> links = new ArrayList<>();
+        final List<Integer> runs = new ArrayList<>();
+        final List<Integer> lastEdges = new ArrayList<>();
+        for (int state = 0; state < signatures.size(); state++) {
+            final int run = signatures.get(state).get(0);
+            final int left = signatures.get(state).get(1);
+            final int right = signatures.get(state).get(2);
+            final int leftCount = left == q - 2 ? 2 : left + 2;
+            final int rightCount = right == q - 2 ? 2 : right + 2;
+            final int first = left == q - 2 ? run + 1 : run;
+            final int last = right == q - 2 ? p - 2 : p - 1;
+
+            // When the right vertex closes, the first child of the next tile is
+            // across the last edge of this one, from the vertex before it: a
+            // vertex counted 1 only if this tile has another edge there
+            if (last < first || (last == first && rightCount == q - 1)) {
+                throw new IllegalStateException("A tile of the {" + p + "," + q + "} tiling has a single edge "
+                        + "on the next layer");
+            }
+
+            final int[] row = new int[p];
+            final Link[] kinds = new Link[p];
+            Arrays.fill(row, -1);
+            kinds[0] = Link.PARENT;
+            if (run == 2) {
+                kinds[1] = Link.LOWER;
+            }
+            if (first > run) {
+                kinds[run] = Link.PREVIOUS;
+            }
+            if (last < p - 1) {
+                kinds[p - 1] = Link.NEXT;
+            }
+            for (int edge = first; edge <= last; edge++) {
+                if (edge == last && rightCount == q - 1) {
+                    kinds[edge] = Link.NEXT_CHILD;
+                    continue;
+                }
+                final int end = edge == last ? rightCount : 1;
+                final List<Integer> child = edge == first && leftCount == q - 1 ? List.of(2, 1, end)
+                        : List.of(1, edge == first ? leftCount : 1, end);
+                kinds[edge] = Link.CHILD;
+                row[edge] = states.computeIfAbsent(child, signature -> {
+                    signatures.add(signature);
+                    return signatures.size() - 1;
+                });
+            }
+            children.add(row);
+            links.add(kinds);
+            runs.add(run);
+            lastEdges.add(last);
+        }
+        return new TreeAutomaton(p, children.toArray(new int[0][]), links.toArray(new Link[0][]),
+                runs.stream().mapToInt(Integer::intValue).toArray(),
+                lastEdges.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Returns the number of bits of a step.
+     *
+     * @return the width of a step
+     */
+    int bits() {
+        return this.bits;
+    }
+
+    /**
+     * Returns the number of states.
+     *
+     * @return the number of states
+     */
+    int size() {
+        return this.children.length;
+    }
+
+    /**
+     * Returns the edge of the parent leading to the tile reached by a step.
+     *
+     * @param step a step of an address
+     * @return the edge held by the step
+     */
+    int edge(final int step) {
+        return step % this.p;
+    }
+
+    /**
+     * Returns the state of a tile other than the origin.
+     *
+     * @param address the address of the tile
+     * @return the state held by its last step
+     */
+    private int state(final ChunkAddress address) {
+        return address.lastStep() / this.p;
+    }
+
+    /**
+     * Computes the neighbor of a tile across one of its edges.
+     *
+     * @param address the address of the tile
+     * @param edge    the edge to cross
+     * @return the address of the neighbor, with its edge facing the tile
+     */
+    SimpleEntry<ChunkAddress, Integer> step(final ChunkAddress address, final int edge) {
+        if (address.isEmpty()) {
+            return new SimpleEntry<>(this.child(address, edge), 0);
+        }
+        return switch (this.links[this.state(address)][edge]) {
+            case PARENT -> new SimpleEntry<>(address.removeLast(), this.edge(address.lastStep()));
+            case CHILD -> new SimpleEntry<>(this.child(address, edge), 0);
+            case LOWER -> {
+                final ChunkAddress lower = this.previous(address.removeLast());
+                yield new SimpleEntry<>(lower, this.lastEdges[this.state(lower)]);
+            }
+            case PREVIOUS -> new SimpleEntry<>(this.previous(address), this.p - 1);
+            case NEXT -> {
+                final ChunkAddress next = this.next(address);
+                yield new SimpleEntry<>(next, this.runs[this.state(next)]);
+            }
+            case NEXT_CHILD -> {
+                final ChunkAddress next = this.next(address);
+                yield new SimpleEntry<>(this.child(next, this.firstChildren[this.state(next)]), 1);
+            }
+        };
+    }
+
+    /**
+     * Returns the address of a child of a tile.
+     *
+     * @param address the address of the tile
+     * @param edge    the edge of the tile leading to the child
+     * @return the address extended by the step to the child
+     */
+    private ChunkAddress child(final ChunkAddress address, final int edge) {
+        final int state = address.isEmpty() ? TreeAutomaton.ROOT : this.children[this.state(address)][edge];
+        return address.appendStep(state * this.p + edge);
+    }
+
+    /**
+     * Returns the tile after a tile in its layer, counter-clockwise.
+     *
+     * @param address the address of a tile other than the origin
+     * @return the address of the next tile
+     */
+    private ChunkAddress next(final ChunkAddress address) {
+        final ChunkAddress parent = address.removeLast();
+        final int edge = this.edge(address.lastStep());
+        if (parent.isEmpty()) {
+            return this.child(parent, (edge + 1) % this.p);
+        }
+        final int[] row = this.children[this.state(parent)];
+        for (int other = edge + 1; other < this.p; other++) {
+            if (row[other] >= 0) {
+                return this.child(parent, other);
+            }
+        }
+        ChunkAddress next = this.next(parent);
+        while (this.firstChildren[this.state(next)] < 0) {
+            next = this.next(next);
+        }
+        return this.child(next, this.firstChildren[this.state(next)]);
+    }
+
+    /**
+     * Returns the tile before a tile in its layer, counter-clockwise.
+     *
+     * @param address the address of a tile other than the origin
+     * @return the address of the previous tile
+     */
+    private ChunkAddress previous(final ChunkAddress address) {
+        final ChunkAddress parent = address.removeLast();
+        final int edge = this.edge(address.lastStep());
+        if (parent.isEmpty()) {
+            return this.child(parent, (edge + this.p - 1) % this.p);
+        }
+        final int[] row = this.children[this.state(parent)];
+        for (int other = edge - 1; other > 0; other--) {
+            if (row[other] >= 0) {
+                return this.child(parent, other);
+            }
+        }
+        ChunkAddress previous = this.previous(parent);
+        while (this.lastChildren[this.state(previous)] < 0) {
+            previous = this.previous(previous);
+        }
+        return this.child(previous, this.lastChildren[this.state(previous)]);
+    }
+}
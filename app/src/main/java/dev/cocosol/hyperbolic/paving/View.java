@@ -0,0 +1,53 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import dev.cocosol.hyperbolic.transformation.Isometry;
+
+/**
+ * Represents the point of view on a tiling: the isometry mapping the placement
+ * of the chunks to the disk as it is displayed.
+ *
+ * Chunks only store their placement relative to the anchor tile and compute
+ * their vertices through the view, so moving in the tiling updates the view
+ * alone.
+ */
+public final class View {
+
+    /**
+     * The current isometry of the view. A new instance is stored on every
+     * change, so that chunks can detect that their vertices are out of date.
+     */
+    private volatile Isometry isometry = Isometry.IDENTITY;
+
+    /**
+     * Returns the current isometry of the view.
+     *
+     * @return the isometry mapping the placements to the disk
+     */
+    public Isometry get() {
+        return this.isometry;
+    }
+
+    /**
+     * Applies a transformation of the disk after the current view.
+     *
+     * @param transformation the isometry to apply to the disk
+     */
+    public synchronized void apply(final Isometry transformation) {
+        this.isometry = transformation.compose(this.isometry).normalize();
+    }
+
+    /**
+     * Replaces the isometry of the view.
+     *
+     * @param isometry the new isometry of the view
+     */
+    synchronized void set(final Isometry isometry) {
+        this.isometry = isometry.normalize();
+    }
+}
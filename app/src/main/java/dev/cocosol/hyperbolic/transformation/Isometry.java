@@ -0,0 +1,308 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.transformation;
+
+import dev.cocosol.Complex;
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Distance;
+
+/**
+ * Represents an isometry of the Poincaré disk.
+ *
+ * An isometry is stored as a matrix {@code [[a, b], [conj(b), conj(a)]]} of
+ * SU(1,1), with {@code |a|² - |b|² = 1}, and a reflection flag. It maps a point
+ * {@code z} to {@code (a w + b) / (conj(b) w + conj(a))}, where {@code w} is
+ * {@code z}, or its conjugate when the isometry reverses the orientation.
+ *
+ * Isometries are immutable: composing two of them costs one matrix product and
+ * applying one costs a complex division.
+ */
+public final class Isometry {
+
+    /**
+     * The identity of the disk.
+     */
+    public static final Isometry IDENTITY = new Isometry(1, 0, 0, 0, false);
+
+    /**
+     * The real part of {@code a}.
+     */
+    private final double ar;
+
+    /**
+     * The imaginary part of {@code a}.
+     */
+    private final double ai;
+
+    /**
+     * The real part of {@code b}.
+     */
+    private final double br;
+
+    /**
+     * The imaginary part of {@code b}.
+     */
+    private final double bi;
+
+    /**
+     * True if the isometry reverses the orientation.
+     */
+    private final boolean reflection;
+
+    /**
+     * Constructs an isometry from the entries of its matrix.
+     *
+     * @param ar         the real part of {@code a}
+     * @param ai         the imaginary part of {@code a}
+     * @param br         the real part of {@code b}
+     * @param bi         the imaginary part of {@code b}
+     * @param reflection true if the isometry reverses the orientation
+     */
+    private Isometry(final double ar, final double ai, final double br, final double bi, final boolean reflection) {
+        this.ar = ar;
+        this.ai = ai;
+        this.br = br;
+        this.bi = bi;
+        this.reflection = reflection;
+    }
+
+    /**
+     * Returns the isometry {@code z -> (a w + b) / (c w + d)}, where {@code w} is
+     * {@code z} or its conjugate.
+     *
+     * The matrix is scaled to a unit determinant. It must map the disk onto
+     * itself.
+     *
+     * @param a          the top left entry of the matrix
+     * @param b          the top right entry of the matrix
+     * @param c          the bottom left entry of the matrix
+     * @param d          the bottom right entry of the matrix
+     * @param reflection true if the conjugate of the point is transformed
+     * @return the corresponding isometry
+     * @throws IllegalArgumentException if the matrix is singular
+     */
+    public static Isometry fromMatrix(final Complex a, final Complex b, final Complex c, final Complex d,
+            final boolean reflection) {
+        final Complex det = a.times(d).minus(b.times(c));
+        if (det.module() == 0) {
+            throw new IllegalArgumentException("The matrix must not be singular");
+        }
+        final Complex scale = Complex.exponent(Math.sqrt(det.module()), det.getAngle() / 2).reciprocal();
+        final Complex na = a.times(scale);
+        final Complex nb = b.times(scale);
+        return new Isometry(na.re(), na.im(), nb.re(), nb.im(), reflection);
+    }
+
+    /**
+     * Returns the reflection across the diameter of the disk making the given
+     * angle with the real axis.
+     *
+     * @param angle the angle of the diameter in radians
+     * @return the reflection {@code z -> e^(2i angle) conj(z)}
+     */
+    public static Isometry reflection(final double angle) {
+        return new Isometry(Math.cos(angle), Math.sin(angle), 0, 0, true);
+    }
+
+    /**
+     * Returns whether the isometry reverses the orientation.
+     *
+     * @return true if the isometry is a reflection or a glide reflection
+     */
+    public boolean isReflection() {
+        return this.reflection;
+    }
+
+    /**
+     * Applies this isometry to a point.
+     *
+     * @param point the point to transform
+     * @return the transformed point
+     */
+    public Point apply(final Point point) {
+        final double x = point.x;
+        final double y = this.reflection ? -point.y : point.y;
+
+        // a w + b
+        final double nr = this.ar * x - this.ai * y + this.br;
+        final double ni = this.ar * y + this.ai * x + this.bi;
+        // conj(b) w + conj(a)
+        final double dr = this.br * x + this.bi * y + this.ar;
+        final double di = this.br * y - this.bi * x - this.ai;
+
+        final double scale = dr * dr + di * di;
+        return new Point((nr * dr + ni * di) / scale, (ni * dr - nr * di) / scale);
+    }
+
+    /**
+     * Applies this isometry in place to points given by their coordinates,
+     * without allocating any object.
+     *
+     * @param xs    the abscissas of the points, replaced by the transformed ones
+     * @param ys    the ordinates of the points, replaced by the transformed ones
+     * @param count the number of points to transform
+     */
+    public void apply(final double[] xs, final double[] ys, final int count) {
+        for (int i = 0; i < count; i++) {
+            final double x = xs[i];
+            final double y = this.reflection ? -ys[i] : ys[i];
+
+            final double nr = this.ar * x - this.ai * y + this.br;
+            final double ni = this.ar * y + this.ai * x + this.bi;
+            final double dr = this.br * x + this.bi * y + this.ar;
+            final double di = this.br * y - this.bi * x - this.ai;
+
+            final double scale = dr * dr + di * di;
+            xs[i] = (nr * dr + ni * di) / scale;
+            ys[i] = (ni * dr - nr * di) / scale;
+        }
+    }
+
+    /**
+     * Applies the composition of this isometry with another one in place to
+     * points of the Klein model, without allocating any object: the points are
+     * moved by {@code first}, then by this isometry.
+     *
+     * In the Klein model the isometry is the projective map of the hyperboloid:
+     * a point {@code w} goes to {@code (2 a b + a² w + b² conj(w)) /
+     * (|a|² + |b|² + 2 Re(a conj(b) w))}, with the entries of the composed
+     * matrix. No point is brought back to the Poincaré disk.
+     *
+     * @param first the isometry applied first
+     * @param xs    the abscissas of the points, replaced by the transformed ones
+     * @param ys    the ordinates of the points, replaced by the transformed ones
+     * @param count the number of points to transform
+     */
+    public void applyKlein(final Isometry first, final double[] xs, final double[] ys, final int count) {
+        // The entries of this ∘ first, as in compose
+        final double oai = this.reflection ? -first.ai : first.ai;
+        final double obi = this.reflection ? -first.bi : first.bi;
+        final double ar = this.ar * first.ar - this.ai * oai + this.br * first.br + this.bi * obi;
+        final double ai = this.ar * oai + this.ai * first.ar + this.bi * first.br - this.br * obi;
+        final double br = this.ar * first.br - this.ai * obi + this.br * first.ar + this.bi * oai;
+        final double bi = this.ar * obi + this.ai * first.br + this.bi * first.ar - this.br * oai;
+        final boolean reflection = this.reflection != first.reflection;
+
+        // a², b², 2 a b, a conj(b) and |a|² + |b|²
+        final double aar = ar * ar - ai * ai;
+        final double aai = 2 * ar * ai;
+        final double bbr = br * br - bi * bi;
+        final double bbi = 2 * br * bi;
+        final double abr = 2 * (ar * br - ai * bi);
+        final double abi = 2 * (ar * bi + ai * br);
+        final double cr = ar * br + ai * bi;
+        final double ci = ai * br - ar * bi;
+        final double norm = ar * ar + ai * ai + br * br + bi * bi;
+
+        for (int i = 0; i < count; i++) {
+            final double x = xs[i];
+            final double y = reflection ? -ys[i] : ys[i];
+
+            final double scale = 1 / (norm + 2 * (cr * x - ci * y));
+            xs[i] = (abr + aar * x - aai * y + bbr * x + bbi * y) * scale;
+            ys[i] = (abi + aar * y + aai * x + bbi * x - bbr * y) * scale;
+        }
+    }
+
+    /**
+     * Returns the composition of this isometry with another one: the isometry
+     * that applies {@code other} first, then this one.
+     *
+     * @param other the isometry applied first
+     * @return the isometry {@code this ∘ other}
+     */
+    public Isometry compose(final Isometry other) {
+        // A reflection conjugates the entries of the isometry that follows it
+        final double oar = other.ar;
+        final double oai = this.reflection ? -other.ai : other.ai;
+        final double obr = other.br;
+        final double obi = this.reflection ? -other.bi : other.bi;
+
+        // a = a1 a2 + b1 conj(b2), b = a1 b2 + b1 conj(a2)
+        final double ar = this.ar * oar - this.ai * oai + this.br * obr + this.bi * obi;
+        final double ai = this.ar * oai + this.ai * oar + this.bi * obr - this.br * obi;
+        final double br = this.ar * obr - this.ai * obi + this.br * oar + this.bi * oai;
+        final double bi = this.ar * obi + this.ai * obr + this.bi * oar - this.br * oai;
+        return new Isometry(ar, ai, br, bi, this.reflection != other.reflection);
+    }
+
+    /**
+     * Returns the inverse of this isometry.
+     *
+     * @return the isometry undoing this one
+     */
+    public Isometry inverse() {
+        if (this.reflection) {
+            return new Isometry(this.ar, this.ai, -this.br, this.bi, true);
+        }
+        return new Isometry(this.ar, -this.ai, -this.br, -this.bi, false);
+    }
+
+    /**
+     * Returns this isometry with its matrix scaled back to a unit determinant.
+     * Long chains of compositions slowly drift away from it because of rounding.
+     *
+     * @return the normalized isometry
+     */
+    public Isometry normalize() {
+        final double det = this.ar * this.ar + this.ai * this.ai - this.br * this.br - this.bi * this.bi;
+        final double scale = 1 / Math.sqrt(det);
+        return new Isometry(this.ar * scale, this.ai * scale, this.br * scale, this.bi * scale, this.reflection);
+    }
+
+    /**
+     * Returns the top left entry {@code a} of the matrix.
+     *
+     * @return the entry {@code a}
+     */
+    public Complex getA() {
+        return new Complex(this.ar, this.ai);
+    }
+
+    /**
+     * Returns the top right entry {@code b} of the matrix.
+     *
+     * @return the entry {@code b}
+     */
+    public Complex getB() {
+        return new Complex(this.br, this.bi);
+    }
+
+    /**
+     * Returns the hyperbolic cosine of the distance by which this isometry moves
+     * the origin.
+     *
+     * It is read from the entries of the matrix, {@code |a|² + |b|²}, so it keeps
+     * its relative precision for isometries moving the origin very far, where the
+     * image of the origin is too close to the unit circle to be told apart.
+     *
+     * @return the hyperbolic cosine of the displacement of the origin
+     */
+    public double coshDisplacement() {
+        return this.ar * this.ar + this.ai * this.ai + this.br * this.br + this.bi * this.bi;
+    }
+
+    /**
+     * Returns the hyperbolic distance by which this isometry moves the origin.
+     *
+     * @return the distance between the origin and its image
+     */
+    public double displacement() {
+        return Distance.hyperbolicDistanceToCenter(this.apply(Point.ORIGIN));
+    }
+
+    /**
+     * Returns a string representation of the isometry.
+     *
+     * @return the entries of the matrix and the reflection flag
+     */
+    @Override
+    public String toString() {
+        return "Isometry[a=" + new Complex(this.ar, this.ai) + ", b=" + new Complex(this.br, this.bi)
+                + (this.reflection ? ", reflection]" : "]");
+    }
+}
@@ -6,6 +6,7 @@
 
 package dev.cocosol.hyperbolic.transformation;
 
+import dev.cocosol.Complex;
 import dev.cocosol.Point;
 import dev.cocosol.hyperbolic.Geodesic;
 
@@ -71,4 +72,23 @@ public class Reflexion {
         return new Point(xPrime, yPrime);
     }
 
+    /**
+     * Returns this reflection as an isometry of the disk.
+     *
+     * @return the isometry reflecting the disk across the geodesic
+     */
+    public Isometry toIsometry() {
+        if (this.geodesic.diameter) {
+            // z -> -(n² / |n|²) conj(z), where n is the normal of the diameter
+            final Complex normal = new Complex(this.geodesic.a, this.geodesic.b);
+            final Complex a = normal.times(normal).scale(-1 / (normal.module() * normal.module()));
+            return Isometry.fromMatrix(a, Complex.ZERO, Complex.ZERO, Complex.ONE, true);
+        }
+
+        // z -> c + R² / (conj(z) - conj(c))
+        final Complex c = this.geodesic.getEuclideanCenter().toComplex();
+        final double radius = this.geodesic.getEuclideanRadius();
+        final double offset = radius * radius - c.module() * c.module();
+        return Isometry.fromMatrix(c, new Complex(offset, 0), Complex.ONE, c.conjugate().scale(-1), true);
+    }
 }
@@ -44,4 +44,13 @@ public class Rotation {
         final Complex e = Complex.exponent(1, this.theta);
         return Point.fromComplex(e.times(z));
     }
+
+    /**
+     * Returns this rotation as an isometry of the disk.
+     *
+     * @return the isometry {@code z -> e^(i theta) z}
+     */
+    public Isometry toIsometry() {
+        return Isometry.fromMatrix(Complex.exponent(1, this.theta), Complex.ZERO, Complex.ZERO, Complex.ONE, false);
+    }
 }
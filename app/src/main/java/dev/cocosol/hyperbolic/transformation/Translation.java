@@ -48,4 +48,14 @@ public class Translation {
         return Point.fromComplex(
                 z.minus(a).divides(Complex.ONE.minus(a.conjugate().times(z))));
     }
+
+    /**
+     * Returns this translation as an isometry of the disk.
+     *
+     * @return the isometry {@code z -> (z - a) / (1 - conj(a) z)}
+     */
+    public Isometry toIsometry() {
+        final Complex a = this.origin.toComplex();
+        return Isometry.fromMatrix(Complex.ONE, a.scale(-1), a.conjugate().scale(-1), Complex.ONE, false);
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.hyperbolic.paving.Paving;
+
+public class FrameInputTest {
+
+    @Test
+    public void testNothingToApply() {
+        final Paving paving = new Paving();
+        final Point before = paving.centerChunk.getVertices().get(0);
+        Assert.assertFalse(new FrameInput().applyTo(paving));
+        Assert.assertEquals(before, paving.centerChunk.getVertices().get(0));
+    }
+
+    @Test
+    public void testMovesAreCoalesced() {
+        final Paving expected = new Paving();
+        final Paving actual = new Paving();
+        final FrameInput input = new FrameInput();
+        for (int frame = 0; frame < 5; frame++) {
+            expected.applyMovement(Math.PI / 2, 0.01);
+            input.move(Math.PI / 2, 0.01);
+            expected.applyMovement(0, 0.01);
+            input.move(0, 0.01);
+            expected.applyRotation(0.3);
+            input.turn(0.1);
+            input.turn(0.2);
+            Assert.assertTrue(input.applyTo(actual));
+            Assert.assertFalse(input.applyTo(actual));
+        }
+        final List<Point> expectedVertices = expected.centerChunk.getVertices();
+        final List<Point> actualVertices = actual.centerChunk.getVertices();
+        for (int i = 0; i < expectedVertices.size(); i++) {
+            Assert.assertEquals(expectedVertices.get(i).x, actualVertices.get(i).x, 1e-9);
+            Assert.assertEquals(expectedVertices.get(i).y, actualVertices.get(i).y, 1e-9);
+        }
+    }
+
+    @Test
+    public void testActionsRunInOrderOnce() {
+        final FrameInput input = new FrameInput();
+        final List<Integer> order = new ArrayList<>();
+        input.post(() -> order.add(1));
+        input.post(() -> order.add(2));
+        Assert.assertTrue(input.applyTo(new Paving()));
+        Assert.assertFalse(input.applyTo(new Paving()));
+        Assert.assertEquals(List.of(1, 2), order);
+    }
+}
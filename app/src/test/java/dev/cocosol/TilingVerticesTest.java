@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+import dev.cocosol.hyperbolic.paving.Paving;
+
+public class TilingVerticesTest {
+
+    /**
+     * Checks that the slots hold the chunks of the neighborhood kept by the
+     * paving, and their vertices as seen through the current view.
+     */
+    private static void assertSeen(final Paving paving, final TilingVertices vertices) {
+        final Set<Chunk> expected = new HashSet<>(paving.getAllNeighbors(paving.getNeighborhoodDepth()));
+        final Set<Chunk> actual = new HashSet<>();
+        final double[] xs = new double[8];
+        final double[] ys = new double[8];
+        final int p = vertices.getVerticesPerSlot();
+        int index = 0;
+        for (final Chunk chunk : vertices.getChunks()) {
+            if (chunk == null) {
+                for (int i = 0; i < p; i++, index++) {
+                    Assert.assertEquals(0, vertices.getXs()[index], 0);
+                    Assert.assertEquals(0, vertices.getYs()[index], 0);
+                }
+                continue;
+            }
+            Assert.assertTrue(actual.add(chunk));
+            Assert.assertEquals(p, chunk.getVertices(xs, ys));
+            for (int i = 0; i < p; i++, index++) {
+                Assert.assertEquals(xs[i], vertices.getXs()[index], 0);
+                Assert.assertEquals(ys[i], vertices.getYs()[index], 0);
+            }
+        }
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(index, vertices.getCount());
+    }
+
+    @Test
+    public void testMovesInsideTheCenterChunk() {
+        final Paving paving = new Paving();
+        final TilingVertices vertices = new TilingVertices(paving, 2);
+        Assert.assertEquals(TilingVertices.Change.REBUILT, vertices.update());
+        TilingVerticesTest.assertSeen(paving, vertices);
+        Assert.assertEquals(TilingVertices.Change.NONE, vertices.update());
+
+        final List<Chunk> chunks = vertices.getChunks();
+        paving.applyMovement(0.4, 0.01);
+        paving.applyRotation(0.2);
+        Assert.assertEquals(TilingVertices.Change.MOVED, vertices.update());
+        Assert.assertEquals(chunks, vertices.getChunks());
+        TilingVerticesTest.assertSeen(paving, vertices);
+        Assert.assertEquals(TilingVertices.Change.NONE, vertices.update());
+    }
+
+    @Test
+    public void testSwapsOnlyTheChunksChanging() {
+        final Paving paving = new Paving();
+        final TilingVertices vertices = new TilingVertices(paving, 2);
+        vertices.update();
+        final int count = vertices.getCount();
+        boolean swapped = false;
+        for (int step = 0; step < 400; step++) {
+            final Chunk center = paving.centerChunk;
+            final List<Chunk> before = vertices.getChunks();
+            paving.applyMovement(0.3, 0.01);
+            final TilingVertices.Change change = vertices.update();
+            Assert.assertEquals(center == paving.centerChunk ? TilingVertices.Change.MOVED
+                    : TilingVertices.Change.SWAPPED, change);
+            Assert.assertEquals(count, vertices.getCount());
+            TilingVerticesTest.assertSeen(paving, vertices);
+
+            if (change == TilingVertices.Change.SWAPPED) {
+                swapped = true;
+                final List<Chunk> after = vertices.getChunks();
+                Assert.assertTrue(vertices.getSwapped().size() < after.size());
+                for (int slot = 0; slot < after.size(); slot++) {
+                    if (!vertices.getSwapped().contains(slot)) {
+                        Assert.assertSame(before.get(slot), after.get(slot));
+                    }
+                }
+            }
+        }
+        Assert.assertTrue(swapped);
+    }
+
+    @Test
+    public void testKeepsItsSlotsWhenOtherCallersAskOtherDepths() {
+        final Paving paving = new Paving();
+        final TilingVertices vertices = new TilingVertices(paving, 3);
+        vertices.update();
+        final List<Chunk> chunks = vertices.getChunks();
+        paving.getAllNeighbors(1);
+        paving.getRings(2);
+        Assert.assertEquals(TilingVertices.Change.NONE, vertices.update());
+        Assert.assertEquals(chunks, vertices.getChunks());
+
+        paving.getRings(4);
+        Assert.assertEquals(TilingVertices.Change.REBUILT, vertices.update());
+        TilingVerticesTest.assertSeen(paving, vertices);
+        Assert.assertEquals(TilingVertices.Change.NONE, vertices.update());
+    }
+
+    @Test
+    public void testPlacesAgainWhenThePavingMovesItsAnchor() {
+        final Paving paving = new Paving();
+        final TilingVertices vertices = new TilingVertices(paving, 2);
+        vertices.update();
+        boolean rebased = false;
+        for (int step = 0; step < 2000 && !rebased; step++) {
+            final double displacement = paving.centerChunk.getPlacement().displacement();
+            paving.applyMovement(0.3, 0.02);
+            vertices.update();
+            TilingVerticesTest.assertSeen(paving, vertices);
+            // The anchor moved to the center chunk
+            rebased = paving.centerChunk.getPlacement().displacement() < displacement - 4;
+        }
+        Assert.assertTrue(rebased);
+    }
+}
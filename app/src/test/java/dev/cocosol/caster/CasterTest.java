@@ -0,0 +1,394 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Distance;
+import dev.cocosol.hyperbolic.paving.Chunk;
+import dev.cocosol.hyperbolic.paving.Paving;
+import dev.cocosol.hyperbolic.paving.Tiling;
+
+public class CasterTest {
+
+    @Test
+    public void testParallelCastMatchesSequentialCast() {
+        final Paving paving = new Paving();
+        for (int i = 0; i < 20; i++) {
+            paving.applyMovement(0.7, 0.05);
+            paving.applyRotation(0.2);
+        }
+        final Caster sequential = new Caster(paving, 1000, 500, 567);
+        final Caster parallel = new Caster(paving, 1000, 500, 567);
+        parallel.setParallelism(4);
+        Assert.assertEquals(4, parallel.getParallelism());
+
+        final Point[] expected = sequential.castRay();
+        final Point[] actual = parallel.castRay();
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i].x, actual[i].x, 0);
+            Assert.assertEquals(expected[i].y, actual[i].y, 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParallelismMustBePositive() {
+        new Caster(new Paving(), 10, 10, 0).setParallelism(0);
+    }
+
+    @Test
+    public void testCastIntoArraysMatchesPoints() {
+        final Paving paving = new Paving();
+        paving.applyMovement(1.1, 0.3);
+        final Caster caster = new Caster(paving, 300, 150, 567);
+        final Point[] expected = caster.castRay();
+
+        final double[] hitX = new double[400];
+        final double[] hitY = new double[400];
+        caster.castRay(hitX, hitY, 300);
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i].x, hitX[i], 0);
+            Assert.assertEquals(expected[i].y, hitY[i], 0);
+            Assert.assertTrue(hitX[i] * hitX[i] + hitY[i] * hitY[i] <= 1 + 1e-12);
+        }
+    }
+
+    @Test
+    public void testRayMatchesTheCaster() {
+        final Paving paving = new Paving();
+        paving.applyRotation(0.4);
+        final Caster caster = new Caster(paving, 10, 10, 42);
+        final Point[] points = caster.castRay();
+        for (int i = 0; i < points.length; i++) {
+            final double angle = Caster.FOV * (0.5 - (i / 10.0)) + Math.PI / 2;
+            Assert.assertEquals(points[i], new Ray(angle, 42).throwRay(paving.centerChunk));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCastIntoShortArrays() {
+        new Caster(new Paving(), 10, 10, 0).castRay(new double[5], new double[5], 10);
+    }
+
+    @Test
+    public void testPortalRenderingMatchesTheRays() {
+        for (final Tiling tiling : new Tiling[] { Tiling.DEFAULT, Tiling.of(7, 3) }) {
+            final Paving paving = new Paving(tiling);
+            final Caster rays = new Caster(paving, 800, 400, 567);
+            final Caster portals = new Caster(paving, 800, 400, 567);
+            portals.setPortalRendering(true);
+            Assert.assertTrue(portals.isPortalRendering());
+            for (int frame = 0; frame < 30; frame++) {
+                paving.applyMovement(frame * 1.3, 0.07);
+                paving.applyRotation(0.3);
+                portals.setParallelism(frame % 2 == 0 ? 1 : 3);
+
+                final Point[] expected = rays.castRay();
+                final Point[] actual = portals.castRay();
+                for (int i = 0; i < expected.length; i++) {
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected[i].x, actual[i].x, 1e-12);
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected[i].y, actual[i].y, 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubdivisionKeepsTheImage() {
+        final Paving paving = new Paving();
+        final Caster rays = new Caster(paving, 700, 350, 567);
+        final Caster subdivided = new Caster(paving, 700, 350, 567);
+        for (int frame = 0; frame < 30; frame++) {
+            paving.applyMovement(frame * 0.9, 0.06);
+            paving.applyRotation(0.25);
+            subdivided.setSubdivision(1 + frame % 16);
+            subdivided.setParallelism(frame % 3 == 0 ? 2 : 1);
+
+            final Point[] expected = rays.castRay();
+            final Point[] actual = subdivided.castRay();
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertEquals(frame + " " + i, expected[i].x, actual[i].x, 0);
+                Assert.assertEquals(frame + " " + i, expected[i].y, actual[i].y, 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubdivisionMustBePositive() {
+        new Caster(new Paving(), 10, 10, 0).setSubdivision(0);
+    }
+
+    @Test
+    public void testRaysStopAtTheMaximumDistance() {
+        final Paving paving = new Paving();
+        paving.applyMovement(0.4, 0.2);
+        final Caster caster = new Caster(paving, 500, 250, 567);
+        final double[] hitX = new double[500];
+        final double[] hitY = new double[500];
+        final boolean[] hitWall = new boolean[500];
+
+        caster.setMaxDistance(0.1);
+        caster.castRay(hitX, hitY, hitWall, 500);
+        for (int i = 0; i < 500; i++) {
+            Assert.assertFalse(hitWall[i]);
+            Assert.assertEquals(0.1, Distance.hyperbolicDistanceToCenter(hitX[i], hitY[i]), 1e-9);
+        }
+
+        caster.setMaxDistance(4);
+        caster.castRay(hitX, hitY, hitWall, 500);
+        int walls = 0;
+        for (int i = 0; i < 500; i++) {
+            final double depth = Distance.hyperbolicDistanceToCenter(hitX[i], hitY[i]);
+            if (hitWall[i]) {
+                walls++;
+                Assert.assertTrue(depth <= 4 + 1e-9);
+            } else {
+                Assert.assertEquals(4, depth, 1e-9);
+            }
+        }
+        Assert.assertTrue(walls > 0);
+    }
+
+    @Test
+    public void testShortcutsMatchTheRaysWithinRange() {
+        final Paving paving = new Paving();
+        final Caster rays = new Caster(paving, 600, 300, 567);
+        final Caster subdivided = new Caster(paving, 600, 300, 567);
+        final Caster portals = new Caster(paving, 600, 300, 567);
+        subdivided.setSubdivision(8);
+        portals.setPortalRendering(true);
+
+        final boolean[][] walls = new boolean[3][600];
+        final double[][] xs = new double[3][600];
+        final double[][] ys = new double[3][600];
+        for (int frame = 0; frame < 20; frame++) {
+            paving.applyMovement(frame * 1.7, 0.08);
+            paving.applyRotation(0.35);
+            final double maxDistance = 1.5 + frame * 0.25;
+            final Caster[] casters = { rays, subdivided, portals };
+            for (int c = 0; c < 3; c++) {
+                casters[c].setMaxDistance(maxDistance);
+                casters[c].castRay(xs[c], ys[c], walls[c], 600);
+            }
+            for (int c = 1; c < 3; c++) {
+                for (int i = 0; i < 600; i++) {
+                    Assert.assertEquals(frame + " " + c + " " + i, walls[0][i], walls[c][i]);
+                    Assert.assertEquals(frame + " " + c + " " + i, xs[0][i], xs[c][i], 1e-12);
+                    Assert.assertEquals(frame + " " + c + " " + i, ys[0][i], ys[c][i], 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFogCutoff() {
+        final Caster caster = new Caster(new Paving(), 10, 10, 0);
+        caster.setFogCutoff(0.9, 1 / 255.0);
+        Assert.assertEquals(Math.log(255) / 0.9, caster.getMaxDistance(), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumDistanceMustBeFinite() {
+        new Caster(new Paving(), 10, 10, 0).setMaxDistance(Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void testRotationCacheMatchesAFullCast() {
+        final Paving paving = new Paving();
+        paving.applyMovement(0.5, 0.15);
+        final Caster full = new Caster(paving, 640, 320, 567);
+        final Caster cached = new Caster(paving, 640, 320, 567);
+        cached.setRotationCache(true);
+        Assert.assertTrue(cached.isRotationCache());
+
+        final boolean[] expectedWalls = new boolean[640];
+        final boolean[] actualWalls = new boolean[640];
+        final double[] expectedX = new double[640];
+        final double[] expectedY = new double[640];
+        final double[] actualX = new double[640];
+        final double[] actualY = new double[640];
+        for (int frame = 0; frame < 60; frame++) {
+            if (frame % 10 == 9) {
+                paving.applyMovement(frame, 0.05);
+            } else {
+                paving.applyRotation(frame % 2 == 0 ? 0.0123 * frame : -0.3);
+            }
+            cached.setPortalRendering(frame % 3 == 0);
+            cached.setSubdivision(frame % 3 == 1 ? 8 : 1);
+
+            full.castRay(expectedX, expectedY, expectedWalls, 640);
+            cached.castRay(actualX, actualY, actualWalls, 640);
+            for (int i = 0; i < 640; i++) {
+                Assert.assertEquals(frame + " " + i, expectedWalls[i], actualWalls[i]);
+                Assert.assertEquals(frame + " " + i, expectedX[i], actualX[i], 1e-9);
+                Assert.assertEquals(frame + " " + i, expectedY[i], actualY[i], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void testHitBufferMatchesTheHits() {
+        final Paving paving = new Paving();
+        paving.applyMovement(0.8, 0.2);
+        paving.applyRotation(0.6);
+        final Caster caster = new Caster(paving, 400, 200, 567);
+        caster.setFogCutoff(0.9, 0.01);
+        Assert.assertEquals(0.9, caster.getFogDensity(), 0);
+
+        final double[] hitX = new double[400];
+        final double[] hitY = new double[400];
+        final boolean[] hitWall = new boolean[400];
+        caster.castRay(hitX, hitY, hitWall, 400);
+        final HitBuffer buffer = new HitBuffer(500);
+        caster.castRay(buffer, 400);
+
+        final Map<Long, Chunk> chunks = new HashMap<>();
+        for (final Chunk chunk : paving.getAllNeighbors(8)) {
+            chunks.put(chunk.encode(), chunk);
+        }
+        final double edgeLength = paving.centerChunk.getTiling().getEdgeLength();
+        for (int i = 0; i < 400; i++) {
+            Assert.assertEquals(hitX[i], buffer.x[i], 0);
+            Assert.assertEquals(hitY[i], buffer.y[i], 0);
+            Assert.assertEquals(hitWall[i], buffer.wall[i]);
+
+            final double depth = Distance.hyperbolicDistanceToCenter(hitX[i], hitY[i]);
+            Assert.assertEquals(depth, buffer.depth[i], 1e-9);
+            Assert.assertEquals(1 / Math.cosh(depth), buffer.heightScale[i], 1e-9);
+            Assert.assertEquals(Math.exp(-depth * 0.9), buffer.brightness[i], 1e-6);
+
+            // The hit lies on the edge where the ray stopped
+            final Chunk chunk = chunks.get(buffer.chunk[i]);
+            if (!buffer.wall[i] || chunk == null) {
+                continue;
+            }
+            final Point[] ends = chunk.getEdgePoints(buffer.edge[i]);
+            final Point hit = new Point(hitX[i], hitY[i]);
+            final double along = Distance.hyperbolicDistance(ends[0], hit);
+            Assert.assertEquals(i + "", along / edgeLength, buffer.wallCoordinate[i], 1e-6);
+            Assert.assertEquals(i + "", edgeLength, along + Distance.hyperbolicDistance(hit, ends[1]), 1e-6);
+        }
+    }
+
+    @Test
+    public void testHitBufferIsTheSameInEveryMode() {
+        final Paving paving = new Paving();
+        paving.applyMovement(0.3, 0.1);
+        final Caster rays = new Caster(paving, 500, 250, 567);
+        final Caster other = new Caster(paving, 500, 250, 567);
+        other.setRotationCache(true);
+        final HitBuffer expected = new HitBuffer(500);
+        final HitBuffer actual = new HitBuffer(500);
+        for (int frame = 0; frame < 30; frame++) {
+            if (frame % 10 == 9) {
+                paving.applyMovement(frame, 0.05);
+            } else {
+                paving.applyRotation(frame % 2 == 0 ? 0.017 * frame : -0.2);
+            }
+            other.setPortalRendering(frame % 3 == 0);
+            other.setSubdivision(frame % 3 == 1 ? 8 : 1);
+
+            rays.castRay(expected, 500);
+            other.castRay(actual, 500);
+            for (int i = 0; i < 500; i++) {
+                Assert.assertEquals(frame + " " + i, expected.wall[i], actual.wall[i]);
+                Assert.assertEquals(frame + " " + i, expected.edge[i], actual.edge[i]);
+                Assert.assertEquals(frame + " " + i, expected.chunk[i], actual.chunk[i]);
+                Assert.assertEquals(frame + " " + i, expected.depth[i], actual.depth[i], 1e-9);
+                Assert.assertEquals(frame + " " + i, expected.wallCoordinate[i], actual.wallCoordinate[i], 1e-6);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCastIntoShortBuffer() {
+        new Caster(new Paving(), 10, 10, 0).castRay(new HitBuffer(5), 10);
+    }
+
+    @Test
+    public void testKleinTraversalMatchesThePoincareDisk() {
+        for (final Tiling tiling : new Tiling[] { Tiling.DEFAULT, Tiling.of(7, 3) }) {
+            final Paving paving = new Paving(tiling);
+            final Caster poincare = new Caster(paving, 600, 300, 567);
+            final Caster klein = new Caster(paving, 600, 300, 567);
+            klein.setKleinTraversal(true);
+            Assert.assertTrue(klein.isKleinTraversal());
+            final HitBuffer expected = new HitBuffer(600);
+            final HitBuffer actual = new HitBuffer(600);
+            for (int frame = 0; frame < 20; frame++) {
+                paving.applyMovement(frame * 1.7, 0.08);
+                paving.applyRotation(0.4);
+                klein.setSubdivision(frame % 2 == 0 ? 1 : 6);
+
+                poincare.castRay(expected, 600);
+                klein.castRay(actual, 600);
+                for (int i = 0; i < 600; i++) {
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected.wall[i], actual.wall[i]);
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected.x[i], actual.x[i], 1e-9);
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected.y[i], actual.y[i], 1e-9);
+                    Assert.assertEquals(tiling + " " + frame + " " + i, expected.edge[i], actual.edge[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testKleinChordIsTheGeodesic() {
+        final double[] xs = { 0.3, -0.5 };
+        final double[] ys = { 0.4, 0.2 };
+        final double[] kxs = new double[2];
+        final double[] kys = new double[2];
+        for (int i = 0; i < 2; i++) {
+            final Point klein = new Point(xs[i], ys[i]).toKleinModel();
+            kxs[i] = klein.x;
+            kys[i] = klein.y;
+            Assert.assertEquals(xs[i], RayKernel.toPoincare(kxs[i], kys[i]) * kxs[i], 1e-12);
+            Assert.assertEquals(ys[i], RayKernel.toPoincare(kxs[i], kys[i]) * kys[i], 1e-12);
+        }
+
+        final double[] expected = new double[2];
+        final double[] actual = new double[2];
+        RayKernel.geodesic(xs[0], ys[0], xs[1], ys[1], expected);
+        final double t = RayKernel.kleinDistanceAlong(kxs[0], kys[0], kxs[1], kys[1], 0, 1, actual);
+        Assert.assertEquals(expected[0], actual[0], 1e-12);
+        Assert.assertEquals(expected[1], actual[1], 1e-12);
+        Assert.assertEquals(RayKernel.distanceAlong(expected[0], expected[1], 0, 1), t, 1e-12);
+    }
+
+    @Test
+    public void testPacketTracingMatchesTheRays() {
+        final Paving paving = new Paving();
+        final Caster rays = new Caster(paving, 900, 450, 567);
+        final Caster packets = new Caster(paving, 900, 450, 567);
+        packets.setPacketTracing(true);
+        final HitBuffer expected = new HitBuffer(900);
+        final HitBuffer actual = new HitBuffer(900);
+        for (int frame = 0; frame < 30; frame++) {
+            paving.applyMovement(frame * 1.1, 0.06);
+            paving.applyRotation(0.35);
+            rays.setKleinTraversal(frame % 2 == 1);
+            packets.setKleinTraversal(frame % 2 == 1);
+            packets.setParallelism(frame % 3 == 0 ? 2 : 1);
+
+            rays.castRay(expected, 900);
+            packets.castRay(actual, 900);
+            for (int i = 0; i < 900; i++) {
+                Assert.assertEquals(frame + " " + i, expected.wall[i], actual.wall[i]);
+                Assert.assertEquals(frame + " " + i, expected.x[i], actual.x[i], 0);
+                Assert.assertEquals(frame + " " + i, expected.y[i], actual.y[i], 0);
+                Assert.assertEquals(frame + " " + i, expected.chunk[i], actual.chunk[i]);
+                Assert.assertEquals(frame + " " + i, expected.edge[i], actual.edge[i]);
+            }
+        }
+    }
+}
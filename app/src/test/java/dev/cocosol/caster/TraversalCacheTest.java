@@ -0,0 +1,67 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.hyperbolic.paving.Chunk;
+import dev.cocosol.hyperbolic.paving.Paving;
+
+public class TraversalCacheTest {
+
+    @Test
+    public void testMatchesTheChunks() {
+        final Paving paving = new Paving();
+        final TraversalCache cache = new TraversalCache(567);
+        for (final Chunk chunk : paving.getAllNeighbors(2)) {
+            for (int edge = 0; edge < 4; edge++) {
+                Assert.assertEquals(chunk.getNeighbors(edge), cache.getNeighbor(chunk, edge));
+                Assert.assertEquals(chunk.getHash(567, edge), cache.isWall(chunk, edge));
+            }
+        }
+        Assert.assertEquals(1 + 4 + 12, cache.size());
+    }
+
+    @Test
+    public void testConcurrentReadersShareTheTiles() throws Exception {
+        final Paving paving = new Paving();
+        final List<Chunk> chunks = paving.getAllNeighbors(3);
+        final TraversalCache cache = new TraversalCache(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<Chunk[]>> readers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                readers.add(() -> {
+                    final Chunk[] neighbors = new Chunk[chunks.size()];
+                    for (int j = 0; j < neighbors.length; j++) {
+                        neighbors[j] = cache.getNeighbor(chunks.get(j), 0);
+                    }
+                    return neighbors;
+                });
+            }
+            final List<Future<Chunk[]>> results = executor.invokeAll(readers);
+            final Chunk[] first = results.get(0).get();
+            for (final Future<Chunk[]> result : results) {
+                final Chunk[] neighbors = result.get();
+                for (int j = 0; j < neighbors.length; j++) {
+                    Assert.assertSame(first[j], neighbors[j]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(chunks.size(), cache.size());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.caster;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.hyperbolic.paving.Paving;
+
+public class WallRasterTest {
+
+    @Test
+    public void testGrayMatchesTheColor() {
+        for (int i = 0; i <= 100; i++) {
+            final float brightness = i / 100f;
+            final Color expected = new Color(brightness, brightness, brightness);
+            Assert.assertEquals(expected.getRGB(), WallRaster.gray(brightness));
+        }
+        Assert.assertEquals(Color.WHITE.getRGB(), WallRaster.gray(2));
+        Assert.assertEquals(Color.BLACK.getRGB(), WallRaster.gray(-1));
+    }
+
+    @Test
+    public void testColumnsAreSpansAroundTheHorizon() {
+        final Paving paving = new Paving();
+        paving.applyMovement(0.6, 0.1);
+        final Caster caster = new Caster(paving, 200, 100, 567);
+        caster.setFogCutoff(0.9, 0.01);
+        final HitBuffer hits = new HitBuffer(200);
+        caster.castRay(hits, 200);
+
+        for (final int height : new int[] { 100, 77 }) {
+            final WallRaster raster = new WallRaster(200, height);
+            final BufferedImage image = raster.render(hits, 40);
+            Assert.assertSame(image, raster.getImage());
+            for (int x = 0; x < 200; x++) {
+                final int top = Math.max(0, (int) (height / 2.0 - 40 * hits.heightScale[x]));
+                final int bottom = Math.min(height - 1, (int) (height / 2.0 + 40 * hits.heightScale[x]));
+                for (int y = 0; y < height; y++) {
+                    final boolean covered = hits.wall[x] && bottom > top && y >= top && y <= bottom;
+                    final int expected = covered ? WallRaster.gray(hits.brightness[x]) : Color.BLACK.getRGB();
+                    Assert.assertEquals(height + " " + x + " " + y, expected, image.getRGB(x, y));
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBufferMustCoverTheImage() {
+        new WallRaster(20, 10).render(new HitBuffer(10), 5);
+    }
+}
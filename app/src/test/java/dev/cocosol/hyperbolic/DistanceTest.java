@@ -66,6 +66,14 @@ public class DistanceTest {
         Assert.assertEquals(expected, Distance.hyperbolicDistance(p1, p2), 1e-9);
     }
 
+    @Test
+    public void testHyperbolicDistanceBetweenCoordinates() {
+        final Point p1 = new Point(0.2, -0.5);
+        final Point p2 = new Point(-0.6, 0.1);
+        Assert.assertEquals(Distance.hyperbolicDistance(p1, p2), Distance.hyperbolicDistance(0.2, -0.5, -0.6, 0.1),
+                1e-12);
+    }
+
     @Test
     public void testHyperbolicDistanceFromOriginToEdge() {
         final Point p = new Point(0.9999999, 0);
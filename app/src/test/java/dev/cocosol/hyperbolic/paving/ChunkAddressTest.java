@@ -0,0 +1,157 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkAddressTest {
+
+    private static List<Direction> randomPath(final Random random, final int length) {
+        final List<Direction> path = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            path.add(Direction.values()[random.nextInt(4)]);
+        }
+        return path;
+    }
+
+    @Test
+    public void testEmptyAddress() {
+        Assert.assertEquals(0, ChunkAddress.EMPTY.length());
+        Assert.assertTrue(ChunkAddress.EMPTY.isEmpty());
+        Assert.assertNull(ChunkAddress.EMPTY.last());
+        Assert.assertEquals("", ChunkAddress.EMPTY.toString());
+        Assert.assertEquals(ChunkAddress.EMPTY, ChunkAddress.of(List.of()));
+    }
+
+    @Test
+    public void testRoundTripThroughOverflow() {
+        final Random random = new Random(1);
+        for (final int length : new int[] { 1, 16, 17, 31, 32, 33, 64, 65, 100 }) {
+            final List<Direction> path = ChunkAddressTest.randomPath(random, length);
+            final ChunkAddress address = ChunkAddress.of(path);
+            Assert.assertEquals(length, address.length());
+            Assert.assertEquals(path, address.toList());
+            Assert.assertEquals(path.get(length - 1), address.last());
+        }
+    }
+
+    @Test
+    public void testRemoveLastUndoesAppend() {
+        final Random random = new Random(2);
+        ChunkAddress address = ChunkAddress.EMPTY;
+        final List<ChunkAddress> prefixes = new ArrayList<>();
+        for (final Direction direction : ChunkAddressTest.randomPath(random, 70)) {
+            prefixes.add(address);
+            address = address.append(direction);
+        }
+        for (int i = prefixes.size() - 1; i >= 0; i--) {
+            address = address.removeLast();
+            Assert.assertEquals(prefixes.get(i), address);
+            Assert.assertEquals(prefixes.get(i).hash64(), address.hash64());
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveLastOfEmptyAddress() {
+        ChunkAddress.EMPTY.removeLast();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfBounds() {
+        ChunkAddress.of(List.of(Direction.LEFT)).get(1);
+    }
+
+    @Test
+    public void testEquality() {
+        final List<Direction> path = List.of(Direction.LEFT, Direction.FORWARD, Direction.RIGHT);
+        Assert.assertEquals(ChunkAddress.of(path), ChunkAddress.of(path));
+        Assert.assertEquals(ChunkAddress.of(path).hashCode(), ChunkAddress.of(path).hashCode());
+        Assert.assertNotEquals(ChunkAddress.of(path), ChunkAddress.of(path.subList(0, 2)));
+        // Trailing LEFT steps are packed as zero bits; the length tells them apart
+        Assert.assertNotEquals(ChunkAddress.of(List.of(Direction.LEFT)), ChunkAddress.EMPTY);
+        Assert.assertNotEquals(ChunkAddress.of(List.of(Direction.LEFT)),
+                ChunkAddress.of(List.of(Direction.LEFT, Direction.LEFT)));
+    }
+
+    @Test
+    public void testLongPathsDoNotCollide() {
+        // Paths differing after 16 steps used to collide in the int encoding
+        final Random random = new Random(3);
+        final List<Direction> prefix = ChunkAddressTest.randomPath(random, 20);
+        final Set<Long> hashes = new HashSet<>();
+        for (final Direction direction : Direction.values()) {
+            final List<Direction> path = new ArrayList<>(prefix);
+            path.add(direction);
+            Assert.assertTrue(hashes.add(ChunkAddress.of(path).hash64()));
+        }
+    }
+
+    @Test
+    public void testHashesAreWellSpread() {
+        final Random random = new Random(4);
+        final Set<Integer> hashCodes = new HashSet<>();
+        final Set<ChunkAddress> addresses = new HashSet<>();
+        for (int i = 0; i < 20000; i++) {
+            final ChunkAddress address = ChunkAddress.of(ChunkAddressTest.randomPath(random, 1 + random.nextInt(40)));
+            if (addresses.add(address)) {
+                hashCodes.add(address.hashCode());
+            }
+        }
+        // Allow a handful of 32-bit collisions among distinct addresses
+        Assert.assertTrue(addresses.size() - hashCodes.size() < 5);
+    }
+
+    @Test
+    public void testBranchesShareTheirPrefix() {
+        final Random random = new Random(6);
+        final List<Direction> prefix = ChunkAddressTest.randomPath(random, 70);
+        prefix.addAll(List.of(Direction.FORWARD, Direction.FORWARD, Direction.FORWARD));
+        final ChunkAddress shared = ChunkAddress.of(prefix);
+        for (final Direction direction : Direction.values()) {
+            final List<Direction> path = new ArrayList<>(prefix);
+            path.add(direction);
+            final ChunkAddress branch = shared.append(direction);
+            Assert.assertEquals(path, branch.toList());
+            Assert.assertEquals(ChunkAddress.of(path), branch);
+            Assert.assertEquals(ChunkAddress.of(path).hash64(), branch.hash64());
+            Assert.assertEquals(shared, branch.removeLast());
+        }
+        Assert.assertEquals(prefix, shared.toList());
+        Assert.assertEquals(prefix.get(3), shared.get(3));
+
+        // A run across the boundary of a word
+        ChunkAddress run = ChunkAddress.of(List.of(Direction.LEFT));
+        for (int i = 0; i < 40; i++) {
+            run = run.append(Direction.FORWARD);
+        }
+        Assert.assertEquals(40, run.trailingRun(Direction.FORWARD));
+        Assert.assertEquals(0, run.trailingRun(Direction.RIGHT));
+    }
+
+    @Test
+    public void testWideSteps() {
+        final Random random = new Random(5);
+        final int[] steps = new int[70];
+        ChunkAddress address = ChunkAddress.empty(3);
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = random.nextInt(7);
+            address = address.appendStep(steps[i]);
+        }
+        Assert.assertArrayEquals(steps, address.toSteps());
+        Assert.assertEquals(steps[steps.length - 1], address.lastStep());
+        Assert.assertNotEquals(ChunkAddress.EMPTY.appendStep(1), ChunkAddress.empty(3).appendStep(1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ChunkAddress.empty(3).appendStep(8));
+        Assert.assertThrows(IllegalStateException.class, () -> ChunkAddress.empty(3).append(Direction.LEFT));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Point;
+
+public class ChunkPoolTest {
+
+    @Test
+    public void testNeighborsAreInterned() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk origin = pool.origin();
+        Assert.assertSame(origin, pool.origin());
+
+        final Chunk forward = origin.getNeighbors(Direction.FORWARD);
+        Assert.assertSame(forward, origin.getNeighbors(Direction.FORWARD));
+        Assert.assertSame(origin, forward.getNeighbors(Direction.BACKWARD));
+        Assert.assertTrue(pool.isInterned(forward));
+    }
+
+    @Test
+    public void testSameTileFromDifferentPaths() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk origin = pool.origin();
+
+        // Going around a vertex the long way and the short way
+        Chunk around = origin;
+        for (int i = 0; i < 3; i++) {
+            around = around.getNeighbors(Direction.RIGHT);
+        }
+        final Chunk shortWay = origin.getNeighbors(Direction.BACKWARD).getNeighbors(Direction.LEFT);
+        Assert.assertEquals(shortWay, around);
+        Assert.assertSame(shortWay, around);
+    }
+
+    @Test
+    public void testCountsHitsAndMisses() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk origin = pool.origin();
+        final long misses = pool.getMisses();
+
+        origin.getNeighbors(Direction.LEFT);
+        Assert.assertEquals(misses + 1, pool.getMisses());
+        final long hits = pool.getHits();
+        origin.getNeighbors(Direction.LEFT);
+        Assert.assertEquals(hits + 1, pool.getHits());
+        Assert.assertEquals(misses + 1, pool.getMisses());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final ChunkPool pool = new ChunkPool(3);
+        final Chunk origin = pool.origin();
+        final Chunk forward = origin.getNeighbors(Direction.FORWARD);
+        origin.getNeighbors(Direction.LEFT);
+
+        // Touch the origin and the forward chunk so that the left one is the eldest
+        Assert.assertTrue(pool.isInterned(origin));
+        Assert.assertTrue(pool.isInterned(forward));
+        final Chunk right = origin.getNeighbors(Direction.RIGHT);
+
+        Assert.assertEquals(3, pool.size());
+        Assert.assertTrue(pool.isInterned(right));
+        Assert.assertNull(pool.get(ChunkAddress.of(List.of(Direction.LEFT))));
+    }
+
+    @Test
+    public void testPooledNeighborSharesAnEdge() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk origin = pool.origin();
+        final Chunk chunk = origin.getNeighbors(Direction.LEFT).getNeighbors(Direction.FORWARD);
+        // Whatever its frame, the pooled neighbor is adjacent to the chunk
+        for (final Direction direction : Direction.values()) {
+            final Chunk neighbor = chunk.getNeighbors(direction);
+            int shared = 0;
+            for (final Point vertex : neighbor.getVertices()) {
+                if (chunk.getVertices().contains(vertex)) {
+                    shared++;
+                }
+            }
+            Assert.assertEquals(2, shared);
+        }
+    }
+
+    @Test
+    public void testConcurrentLookupsAgree() throws Exception {
+        final ChunkPool pool = new ChunkPool(Tiling.DEFAULT, 200);
+        final List<Chunk> ring = new Neighborhood(Chunk.origin(), 3).getRings().get(3);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<Chunk>>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    final List<Chunk> interned = new ArrayList<>();
+                    for (final Chunk chunk : ring) {
+                        final Chunk pooled = pool.get(chunk.getAddress());
+                        interned.add(pooled != null ? pooled : pool.intern(chunk));
+                    }
+                    return interned;
+                }));
+            }
+            // Every thread got the instance interned first, which no eviction
+            // removed since the pool holds the whole ring
+            final List<Chunk> first = results.get(0).get();
+            for (final Future<List<Chunk>> result : results) {
+                final List<Chunk> interned = result.get();
+                for (int i = 0; i < ring.size(); i++) {
+                    Assert.assertSame(first.get(i), interned.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(ring.size(), pool.size());
+        Assert.assertEquals(4L * ring.size(), pool.getHits() + pool.getMisses());
+
+        // Interning past the capacity evicts down to it
+        for (final Chunk chunk : new Neighborhood(Chunk.origin(), 7).getRings().get(7)) {
+            pool.intern(chunk);
+            Assert.assertTrue(pool.size() <= pool.getCapacity());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsEmptyCapacity() {
+        new ChunkPool(0);
+    }
+}
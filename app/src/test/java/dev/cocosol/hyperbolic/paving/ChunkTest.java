@@ -0,0 +1,175 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Geodesic;
+import dev.cocosol.hyperbolic.transformation.Isometry;
+import dev.cocosol.hyperbolic.transformation.Reflexion;
+
+public class ChunkTest {
+
+    /**
+     * Builds the vertices of a neighbor by reflecting the vertices of the chunk
+     * across the shared edge, as the chunks used to be built.
+     */
+    private static Point[] reflectedNeighbor(final List<Point> vertices, final Direction direction) {
+        final Point[] points = switch (direction) {
+            case FORWARD -> new Point[] { vertices.get(3), vertices.get(2), vertices.get(1), vertices.get(0) };
+            case BACKWARD -> new Point[] { vertices.get(1), vertices.get(0), vertices.get(3), vertices.get(2) };
+            case LEFT -> new Point[] { vertices.get(0), vertices.get(3), vertices.get(2), vertices.get(1) };
+            case RIGHT -> new Point[] { vertices.get(2), vertices.get(1), vertices.get(0), vertices.get(3) };
+        };
+        final int index = switch (direction) {
+            case FORWARD -> 0;
+            case LEFT -> 1;
+            case BACKWARD -> 2;
+            case RIGHT -> 3;
+        };
+        final Reflexion reflexion = new Reflexion(
+                Geodesic.fromTwoPoints(vertices.get(index), vertices.get((index + 1) % 4)));
+        for (int i = 0; i < 4; i++) {
+            points[i] = reflexion.apply(points[i]);
+        }
+        return points;
+    }
+
+    /**
+     * Checks that two quads have the same vertices in the same cyclic order,
+     * whatever the vertex they start from.
+     */
+    private static void assertSameQuad(final Point[] expected, final List<Point> actual) {
+        final int offset = actual.indexOf(expected[0]);
+        Assert.assertTrue(offset >= 0);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(expected[i], actual.get((i + offset) % 4));
+        }
+    }
+
+    @Test
+    public void testNeighborsMatchTheReflectedVertices() {
+        final Random random = new Random(7);
+        for (int walk = 0; walk < 50; walk++) {
+            Chunk chunk = Chunk.origin();
+            for (int step = 0; step < 4; step++) {
+                final Direction direction = Direction.values()[random.nextInt(4)];
+                final Point[] expected = ChunkTest.reflectedNeighbor(chunk.getVertices(), direction);
+                chunk = chunk.getNeighbors(direction);
+                ChunkTest.assertSameQuad(expected, chunk.getVertices());
+            }
+        }
+    }
+
+    @Test
+    public void testWalkConstructorMatchesNeighbors() {
+        final List<Direction> path = List.of(Direction.FORWARD, Direction.LEFT, Direction.FORWARD, Direction.RIGHT,
+                Direction.RIGHT, Direction.BACKWARD);
+        Chunk chunk = Chunk.origin();
+        for (final Direction direction : path) {
+            chunk = chunk.getNeighbors(direction);
+        }
+        final Chunk walked = new Chunk(path);
+        Assert.assertEquals(chunk, walked);
+        Assert.assertEquals(chunk.getVertices(), walked.getVertices());
+    }
+
+    @Test
+    public void testFrameOnlyDependsOnTheAddress() {
+        final Random random = new Random(11);
+        for (int walk = 0; walk < 50; walk++) {
+            Chunk chunk = Chunk.origin();
+            for (int step = 0; step < 8; step++) {
+                chunk = chunk.getNeighbors(Direction.values()[random.nextInt(4)]);
+            }
+            // Walking the address itself never involves a holonomy
+            final Chunk canonical = new Chunk(chunk.getAddress().toList());
+            Assert.assertEquals(canonical.getVertices(), chunk.getVertices());
+        }
+    }
+
+    @Test
+    public void testSameVerticesFromDifferentPaths() {
+        Chunk around = Chunk.origin();
+        for (int i = 0; i < 3; i++) {
+            around = around.getNeighbors(Direction.RIGHT);
+        }
+        final Chunk shortWay = Chunk.origin().getNeighbors(Direction.BACKWARD).getNeighbors(Direction.LEFT);
+        Assert.assertEquals(shortWay, around);
+        Assert.assertEquals(shortWay.getVertices(), around.getVertices());
+    }
+
+    @Test
+    public void testPlacementsStayOrientationPreserving() {
+        Chunk chunk = Chunk.origin();
+        for (final Direction direction : Direction.values()) {
+            chunk = chunk.getNeighbors(direction);
+            Assert.assertFalse(chunk.getPlacement().isReflection());
+        }
+    }
+
+    @Test
+    public void testVerticesFollowTheView() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk chunk = pool.origin().getNeighbors(Direction.LEFT);
+        final List<Point> before = chunk.getVertices();
+        Assert.assertSame(before, chunk.getVertices());
+
+        pool.getView().apply(Isometry.reflection(0));
+        final List<Point> after = chunk.getVertices();
+        Assert.assertNotSame(before, after);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals(new Point(before.get(i).x, -before.get(i).y), after.get(i));
+        }
+    }
+
+    @Test
+    public void testRebaseKeepsTheVertices() {
+        final ChunkPool pool = new ChunkPool();
+        final Chunk chunk = pool.origin().getNeighbors(Direction.FORWARD).getNeighbors(Direction.RIGHT);
+        final List<Point> before = chunk.getVertices();
+
+        final View view = pool.getView();
+        final Isometry anchor = chunk.getPlacement();
+        chunk.rebase(anchor.inverse());
+        view.set(view.get().compose(anchor));
+        Assert.assertEquals(0, chunk.getPlacement().displacement(), 1e-9);
+        Assert.assertEquals(before, chunk.getVertices());
+    }
+
+    @Test
+    public void testWallMaskIsSeenFromBothSides() {
+        final Random random = new Random(5);
+        for (final Tiling tiling : new Tiling[] { Tiling.DEFAULT, Tiling.of(7, 3) }) {
+            for (int walk = 0; walk < 20; walk++) {
+                Chunk chunk = Chunk.origin(tiling);
+                for (int step = 0; step < 6; step++) {
+                    chunk = chunk.getNeighbors(random.nextInt(tiling.getP()));
+                }
+                final long mask = chunk.getWallMask(42);
+                Assert.assertEquals(0, mask >>> tiling.getP());
+                for (int edge = 0; edge < tiling.getP(); edge++) {
+                    final Chunk neighbor = chunk.getNeighbors(edge);
+                    Assert.assertEquals(chunk.getHash(42, neighbor), (mask >>> edge & 1) != 0);
+                    Assert.assertEquals(chunk.getHash(42, neighbor), chunk.getHash(42, edge));
+
+                    int back = 0;
+                    while (!chunk.equals(neighbor.getNeighbors(back))) {
+                        back++;
+                    }
+                    Assert.assertEquals(chunk.getHash(42, edge), neighbor.getHash(42, back));
+                }
+                Assert.assertEquals(mask, chunk.getWallMask(42));
+            }
+        }
+    }
+}
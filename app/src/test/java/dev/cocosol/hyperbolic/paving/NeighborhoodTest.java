@@ -0,0 +1,243 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Point;
+
+public class NeighborhoodTest {
+
+    private static Set<Chunk> flatten(final List<List<Chunk>> rings) {
+        final Set<Chunk> chunks = new HashSet<>();
+        rings.forEach(chunks::addAll);
+        return chunks;
+    }
+
+    @Test
+    public void testInitialBuildAddsEveryChunk() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 3);
+        Assert.assertEquals(1 + 4 + 12 + 28, neighborhood.getAdded().size());
+        Assert.assertTrue(neighborhood.getRemoved().isEmpty());
+        Assert.assertEquals(0, neighborhood.getRing(neighborhood.getCenter()));
+    }
+
+    @Test
+    public void testRecenterMatchesFreshBuild() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 4);
+        final Chunk next = neighborhood.getNeighbor(neighborhood.getCenter(), Direction.LEFT);
+        neighborhood.recenter(next);
+
+        final Neighborhood fresh = new Neighborhood(next, 4);
+        for (int k = 0; k <= 4; k++) {
+            Assert.assertEquals(new HashSet<>(fresh.getRings().get(k)),
+                    new HashSet<>(neighborhood.getRings().get(k)));
+        }
+    }
+
+    @Test
+    public void testRecenterPublishesDiff() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 4);
+        final Set<Chunk> before = NeighborhoodTest.flatten(neighborhood.getRings());
+
+        neighborhood.recenter(neighborhood.getNeighbor(neighborhood.getCenter(), Direction.FORWARD));
+        final Set<Chunk> after = NeighborhoodTest.flatten(neighborhood.getRings());
+
+        final Set<Chunk> expected = new HashSet<>(before);
+        expected.removeAll(neighborhood.getRemoved());
+        expected.addAll(neighborhood.getAdded());
+        Assert.assertEquals(after, expected);
+
+        for (final Chunk chunk : neighborhood.getAdded()) {
+            Assert.assertFalse(before.contains(chunk));
+        }
+        for (final Chunk chunk : neighborhood.getRemoved()) {
+            Assert.assertFalse(after.contains(chunk));
+        }
+        // Moving across one edge only touches part of the outer rings
+        Assert.assertTrue(neighborhood.getAdded().size() < neighborhood.getRings().get(4).size());
+    }
+
+    @Test
+    public void testCrossingAnEdgeResolvesOnlyTheOuterRing() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 6);
+        final int outer = neighborhood.getRings().get(6).size();
+        final int size = NeighborhoodTest.flatten(neighborhood.getRings()).size();
+        Assert.assertEquals(size, neighborhood.getAdded().size());
+
+        neighborhood.recenter(neighborhood.getNeighbor(neighborhood.getCenter(), Direction.FORWARD));
+        final int resolved = neighborhood.getResolvedLinks();
+        Assert.assertTrue(resolved > 0);
+        Assert.assertTrue(resolved <= 4 * outer);
+        Assert.assertTrue(resolved < size);
+        Assert.assertTrue(neighborhood.getAdded().size() <= resolved);
+        Assert.assertTrue(neighborhood.getRemoved().size() <= outer);
+    }
+
+    @Test
+    public void testResizeMatchesFreshBuild() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 2);
+        neighborhood.recenter(neighborhood.getNeighbor(neighborhood.getCenter(), Direction.LEFT));
+
+        neighborhood.resize(4);
+        final Neighborhood fresh = new Neighborhood(neighborhood.getCenter(), 4);
+        for (int k = 0; k <= 4; k++) {
+            Assert.assertEquals(new HashSet<>(fresh.getRings().get(k)),
+                    new HashSet<>(neighborhood.getRings().get(k)));
+        }
+        final Set<Chunk> gained = new HashSet<>(neighborhood.getRings().get(3));
+        gained.addAll(neighborhood.getRings().get(4));
+        Assert.assertEquals(gained, new HashSet<>(neighborhood.getAdded()));
+
+        final Set<Chunk> lost = NeighborhoodTest.flatten(neighborhood.getRings().subList(2, 5));
+        neighborhood.resize(1);
+        Assert.assertEquals(2, neighborhood.getRings().size());
+        Assert.assertTrue(neighborhood.getAdded().isEmpty());
+        Assert.assertEquals(lost, new HashSet<>(neighborhood.getRemoved()));
+    }
+
+    @Test
+    public void testPavingPublishesDisjointDiffWhenDepthChanges() {
+        final Paving paving = new Paving();
+        paving.getRings(3);
+
+        final List<Chunk> added = new ArrayList<>();
+        final List<Chunk> removed = new ArrayList<>();
+        paving.addNeighborhoodListener((a, r) -> {
+            added.addAll(a);
+            removed.addAll(r);
+        });
+
+        final List<List<Chunk>> rings = paving.getRings(4);
+        Assert.assertTrue(removed.isEmpty());
+        Assert.assertEquals(new HashSet<>(rings.get(4)), new HashSet<>(added));
+
+        added.clear();
+        paving.setNeighborhoodDepth(2);
+        Assert.assertTrue(added.isEmpty());
+        final Set<Chunk> lost = new HashSet<>(rings.get(3));
+        lost.addAll(rings.get(4));
+        Assert.assertEquals(lost, new HashSet<>(removed));
+        Assert.assertEquals(2, paving.getNeighborhoodDepth());
+    }
+
+    @Test
+    public void testPavingServesShallowerDepthsWithoutChanges() {
+        final Paving paving = new Paving();
+        final List<List<Chunk>> rings = paving.getRings(4);
+        final List<List<Chunk>> events = new ArrayList<>();
+        paving.addNeighborhoodListener((a, r) -> {
+            events.add(a);
+            events.add(r);
+        });
+
+        for (int call = 0; call < 3; call++) {
+            Assert.assertEquals(rings.subList(0, 3), paving.getRings(2));
+            Assert.assertEquals(NeighborhoodTest.flatten(rings.subList(0, 2)),
+                    new HashSet<>(paving.getAllNeighbors(1)));
+            Assert.assertEquals(rings, paving.getRings(4));
+        }
+        Assert.assertTrue(events.isEmpty());
+        Assert.assertEquals(4, paving.getNeighborhoodDepth());
+    }
+
+    @Test
+    public void testRecenterKeepsInstances() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(), 3);
+        final Map<Chunk, Chunk> instances = new HashMap<>();
+        neighborhood.getRings().forEach(ring -> ring.forEach(chunk -> instances.put(chunk, chunk)));
+
+        neighborhood.recenter(neighborhood.getNeighbor(neighborhood.getCenter(), Direction.RIGHT));
+        for (final List<Chunk> ring : neighborhood.getRings()) {
+            for (final Chunk chunk : ring) {
+                if (instances.containsKey(chunk)) {
+                    Assert.assertSame(instances.get(chunk), chunk);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPavingPublishesChangesWhenCrossingEdges() {
+        final Paving paving = new Paving();
+        paving.getRings(3);
+
+        final List<Chunk> added = new ArrayList<>();
+        final List<Chunk> removed = new ArrayList<>();
+        paving.addNeighborhoodListener((a, r) -> {
+            added.addAll(a);
+            removed.addAll(r);
+        });
+
+        final Chunk start = paving.centerChunk;
+        while (paving.centerChunk.equals(start)) {
+            paving.applyMovement(Math.PI / 2, 0.05);
+        }
+        Assert.assertFalse(added.isEmpty());
+        Assert.assertFalse(removed.isEmpty());
+        Assert.assertEquals(paving.centerChunk, paving.getRings(3).get(0).get(0));
+    }
+
+    @Test
+    public void testKeptChunksFollowTheMovement() {
+        final Paving paving = new Paving();
+        paving.getRings(3);
+        for (int i = 0; i < 40; i++) {
+            paving.applyMovement(0.3, 0.05);
+            paving.applyRotation(0.1);
+        }
+
+        final Map<Chunk, Point> expected = new HashMap<>();
+        for (final List<Chunk> ring : new Neighborhood(paving.centerChunk, 3).getRings()) {
+            ring.forEach(chunk -> expected.put(chunk, chunk.getCenter()));
+        }
+        for (final List<Chunk> ring : paving.getRings(3)) {
+            for (final Chunk chunk : ring) {
+                Assert.assertEquals(expected.get(chunk), chunk.getCenter());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelRingsMatchSequentialRings() {
+        final ChunkPool pool = new ChunkPool();
+        final Neighborhood sequential = new Neighborhood(Chunk.origin(), 7);
+        final Neighborhood parallel = new Neighborhood(pool.origin(), 7, true);
+        Assert.assertEquals(sequential.getRings(), parallel.getRings());
+
+        final Chunk next = parallel.getNeighbor(parallel.getCenter(), Direction.FORWARD);
+        sequential.recenter(sequential.getNeighbor(sequential.getCenter(), Direction.FORWARD));
+        parallel.recenter(next);
+        Assert.assertEquals(sequential.getRings(), parallel.getRings());
+        Assert.assertEquals(new HashSet<>(sequential.getAdded()), new HashSet<>(parallel.getAdded()));
+    }
+
+    @Test
+    public void testParallelRingsHoldSingleInstances() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(Tiling.of(5, 4)), 5, true);
+        final Map<Chunk, Chunk> instances = new HashMap<>();
+        for (final List<Chunk> ring : neighborhood.getRings()) {
+            for (final Chunk chunk : ring) {
+                Assert.assertNull(instances.put(chunk, chunk));
+                for (int edge = 0; edge < 5; edge++) {
+                    final Chunk neighbor = neighborhood.getNeighbor(chunk, edge);
+                    if (instances.containsKey(neighbor)) {
+                        Assert.assertSame(instances.get(neighbor), neighbor);
+                    }
+                }
+            }
+        }
+    }
+}
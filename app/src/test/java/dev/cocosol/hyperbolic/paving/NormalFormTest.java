@@ -0,0 +1,266 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the rewriting automaton against the list-based simplification rules
+ * it replaces, kept below as the reference.
+ */
+public class NormalFormTest {
+
+    /**
+     * Simplifies a direction path recursively based on predefined rules.
+     *
+     * @param directions the original list of directions
+     * @return a simplified list of directions
+     */
+    private static SimpleEntry<List<Direction>, Direction> simplifyDirections(final List<Direction> directions,
+            final Direction holonomy) {
+        final SimpleEntry<List<Direction>, Direction> entry = NormalFormTest.applySimplifications(directions, holonomy);
+
+        if (entry.getKey().equals(directions)) {
+            return entry;
+        }
+        return NormalFormTest.simplifyDirections(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * Applies transformation rules to simplify the direction path.
+     *
+     * @param input the original direction list
+     * @return a partially simplified direction list
+     */
+    private static SimpleEntry<List<Direction>, Direction> applySimplifications(final List<Direction> input,
+            final Direction oldHolonomy) {
+
+        Direction holonomy = oldHolonomy;
+        if (input.size() < 2) {
+            return new SimpleEntry<>(input, holonomy);
+        }
+
+        // Rule 1: Undo BACKWARD operations
+        final List<Direction> firstPass = new ArrayList<>();
+        for (int i = 1; i < input.size(); i++) {
+            final Direction fst = input.get(i - 1);
+            final Direction cur = input.get(i);
+            final boolean last = i == input.size() - 1;
+
+            if (cur == Direction.BACKWARD) {
+                if (!last) {
+                    final Direction newDirection = switch (fst) {
+                        case LEFT -> input.get(i + 1).clockwise();
+                        case RIGHT -> input.get(i + 1).anticlockwise();
+                        case FORWARD -> input.get(i + 1).opposite();
+                        case BACKWARD -> input.get(i + 1);
+                    };
+                    firstPass.add(newDirection);
+                    firstPass.addAll(input.subList(i + 2, input.size()));
+                } else {
+                    holonomy = holonomy.add(fst.opposite());
+                }
+                break;
+            }
+            firstPass.add(fst);
+            if (last) {
+                firstPass.add(cur);
+            }
+        }
+
+        // Rule 2: Merge repeated directions
+        if (firstPass.size() < 3) {
+            return new SimpleEntry<>(firstPass, holonomy);
+        }
+
+        final List<Direction> secondPass = new ArrayList<>();
+        for (int i = 2; i < firstPass.size(); i++) {
+            final Direction fst = firstPass.get(i - 2);
+            final Direction snd = firstPass.get(i - 1);
+            final Direction cur = firstPass.get(i);
+
+            final boolean last = i == firstPass.size() - 1;
+
+            if (snd == cur && cur == Direction.RIGHT) {
+                secondPass.addAll(List.of(fst.clockwise(), Direction.LEFT));
+                if (!last) {
+                    secondPass.add(firstPass.get(i + 1).clockwise());
+                    secondPass.addAll(firstPass.subList(i + 2, firstPass.size()));
+                } else {
+                    holonomy = holonomy.clockwise();
+                }
+                break;
+            }
+
+            if (snd == cur && cur == Direction.LEFT) {
+                secondPass.addAll(List.of(fst.anticlockwise(), Direction.RIGHT));
+                if (!last) {
+                    secondPass.add(firstPass.get(i + 1).anticlockwise());
+                    secondPass.addAll(firstPass.subList(i + 2, firstPass.size()));
+                } else {
+                    holonomy = holonomy.anticlockwise();
+                }
+                break;
+            }
+
+            secondPass.add(fst);
+            if (last) {
+                secondPass.add(snd);
+                secondPass.add(cur);
+            }
+        }
+
+        // --- Pass 3: Apply LF rule ---
+        // Ryle: Y + R (F*n) R + X -> Y.clockwise + (LF*n) L + X.clockwise
+        if (secondPass.size() < 4) {
+            return new SimpleEntry<>(secondPass, holonomy);
+        }
+        final List<Direction> thirdPass = new ArrayList<>();
+
+        int i = 0;
+
+        while (i < secondPass.size()) {
+            if (i + 1 >= secondPass.size()) {
+                thirdPass.add(secondPass.get(i));
+                i++;
+                continue;
+            }
+
+            final Direction y = secondPass.get(i);
+            final Direction r1 = secondPass.get(i + 1);
+
+            if (r1 == Direction.RIGHT) {
+                int fCount = 0;
+                int currentScanIndex = i + 2;
+
+                while (currentScanIndex < secondPass.size()
+                        && secondPass.get(currentScanIndex) == Direction.FORWARD) {
+                    fCount++;
+                    currentScanIndex++;
+                }
+
+                if (fCount > 0
+                        && currentScanIndex < secondPass.size()
+                        && secondPass.get(currentScanIndex) == Direction.RIGHT) {
+                    final int r2Index = currentScanIndex;
+
+                    thirdPass.add(y.clockwise());
+
+                    for (int k = 0; k < fCount; k++) {
+                        thirdPass.add(Direction.LEFT);
+                        thirdPass.add(Direction.FORWARD);
+                    }
+                    thirdPass.add(Direction.LEFT);
+
+                    final int xIndex = r2Index + 1;
+                    if (xIndex < secondPass.size()) {
+                        final Direction x = secondPass.get(xIndex);
+                        thirdPass.add(x.clockwise());
+                        thirdPass.addAll(secondPass.subList(xIndex + 1, secondPass.size()));
+                    } else {
+                        holonomy = holonomy.clockwise();
+                    }
+
+                    break;
+
+                } else {
+                    thirdPass.add(y);
+                    i++;
+                }
+
+            } else {
+                thirdPass.add(y);
+                i++;
+            }
+        }
+
+        return new SimpleEntry<>(thirdPass, holonomy);
+    }
+
+    private static void assertSameResult(final ChunkAddress address, final Direction holonomy,
+            final Direction direction) {
+        final List<Direction> path = address.toList();
+        path.add(holonomy.add(direction));
+        final SimpleEntry<List<Direction>, Direction> expected = NormalFormTest.simplifyDirections(path,
+                Direction.FORWARD);
+        final SimpleEntry<ChunkAddress, Direction> actual = NormalForm.append(address, holonomy, direction);
+
+        Assert.assertEquals(path.toString(), expected.getKey(), actual.getKey().toList());
+        Assert.assertEquals(path.toString(), expected.getValue(), actual.getValue());
+    }
+
+    private static void walk(final ChunkAddress address, final Direction holonomy, final int remainingSteps) {
+        if (remainingSteps == 0) {
+            return;
+        }
+        for (final Direction direction : Direction.values()) {
+            NormalFormTest.assertSameResult(address, holonomy, direction);
+            final SimpleEntry<ChunkAddress, Direction> next = NormalForm.append(address, holonomy, direction);
+            NormalFormTest.walk(next.getKey(), next.getValue(), remainingSteps - 1);
+        }
+    }
+
+    @Test
+    public void testEveryWalkMatchesTheRules() {
+        NormalFormTest.walk(ChunkAddress.EMPTY, Direction.FORWARD, 8);
+    }
+
+    @Test
+    public void testLongRandomWalksMatchTheRules() {
+        final Random random = new Random(5);
+        for (int walk = 0; walk < 50; walk++) {
+            ChunkAddress address = ChunkAddress.EMPTY;
+            Direction holonomy = Direction.FORWARD;
+            for (int step = 0; step < 300; step++) {
+                // Favor forward moves so that the paths get long
+                final Direction direction = random.nextInt(3) == 0
+                        ? Direction.values()[random.nextInt(4)]
+                        : Direction.FORWARD;
+                NormalFormTest.assertSameResult(address, holonomy, direction);
+                final SimpleEntry<ChunkAddress, Direction> next = NormalForm.append(address, holonomy, direction);
+                address = next.getKey();
+                holonomy = next.getValue();
+            }
+        }
+    }
+
+    @Test
+    public void testNormalFormOfPathMatchesTheRules() {
+        final Random random = new Random(6);
+        for (int i = 0; i < 2000; i++) {
+            final List<Direction> path = new ArrayList<>();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                path.add(Direction.values()[random.nextInt(4)]);
+            }
+            final SimpleEntry<List<Direction>, Direction> expected = NormalFormTest.simplifyDirections(path,
+                    Direction.FORWARD);
+            final SimpleEntry<ChunkAddress, Direction> actual = NormalForm.of(path);
+            Assert.assertEquals(path.toString(), expected.getKey(), actual.getKey().toList());
+            Assert.assertEquals(path.toString(), expected.getValue(), actual.getValue());
+        }
+    }
+
+    @Test
+    public void testGoingBackReturnsToTheOrigin() {
+        for (final Direction direction : Direction.values()) {
+            final SimpleEntry<ChunkAddress, Direction> out = NormalForm.append(ChunkAddress.EMPTY, Direction.FORWARD,
+                    direction);
+            if (direction == Direction.BACKWARD) {
+                continue;
+            }
+            final SimpleEntry<ChunkAddress, Direction> back = NormalForm.append(out.getKey(), out.getValue(),
+                    Direction.BACKWARD);
+            Assert.assertEquals(ChunkAddress.EMPTY, back.getKey());
+        }
+    }
+}
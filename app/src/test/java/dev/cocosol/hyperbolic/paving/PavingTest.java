@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Projection;
+
+public class PavingTest {
+
+    @Test
+    public void testRingZeroIsTheCenter() {
+        final Paving paving = new Paving();
+        final List<List<Chunk>> rings = paving.getRings(0);
+        Assert.assertEquals(1, rings.size());
+        Assert.assertEquals(List.of(paving.centerChunk), rings.get(0));
+    }
+
+    @Test
+    public void testRingSizes() {
+        // Number of squares at each graph distance in the {4,5} tiling
+        final int[] expected = { 1, 4, 12, 28, 64, 148 };
+        final List<List<Chunk>> rings = new Paving().getRings(expected.length - 1);
+        Assert.assertEquals(expected.length, rings.size());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals(expected[i], rings.get(i).size());
+        }
+    }
+
+    @Test
+    public void testRingsAreDisjoint() {
+        final Set<Chunk> seen = new HashSet<>();
+        for (final List<Chunk> ring : new Paving().getRings(5)) {
+            for (final Chunk chunk : ring) {
+                Assert.assertTrue(seen.add(chunk));
+            }
+        }
+    }
+
+    @Test
+    public void testRingNeighborsStayWithinOneRing() {
+        final List<List<Chunk>> rings = new Paving().getRings(4);
+        for (int k = 1; k < 4; k++) {
+            final Set<Chunk> allowed = new HashSet<>(rings.get(k - 1));
+            allowed.addAll(rings.get(k));
+            allowed.addAll(rings.get(k + 1));
+            for (final Chunk chunk : rings.get(k)) {
+                for (final Direction direction : Direction.values()) {
+                    Assert.assertTrue(allowed.contains(chunk.getNeighbors(direction)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testAllNeighborsFlattensRings() {
+        final Paving paving = new Paving();
+        final List<Chunk> all = paving.getAllNeighbors(3);
+        Assert.assertEquals(1 + 4 + 12 + 28, all.size());
+        Assert.assertEquals(paving.centerChunk, all.get(0));
+        Assert.assertEquals(all.size(), new HashSet<>(all).size());
+    }
+
+    @Test
+    public void testLongWalkKeepsTheCenterAccurate() {
+        final Paving paving = new Paving();
+        paving.getRings(2);
+        // Walk straight ahead far beyond the distance where the anchor moves
+        for (int i = 0; i < 3000; i++) {
+            paving.applyMovement(Math.PI / 2, 0.05);
+        }
+        Assert.assertTrue(paving.centerChunk.getAddress().length() > 20);
+        Assert.assertTrue(paving.centerChunk.getPlacement().displacement() < 10);
+
+        // The center chunk still contains the origin and shares its edges with its
+        // neighbors
+        Assert.assertNull(paving.findExitEdge());
+        for (final Direction direction : Direction.values()) {
+            final Point[] edge = paving.centerChunk.getPointFromDirection(direction);
+            final List<Point> neighbor = paving.centerChunk.getNeighbors(direction).getVertices();
+            Assert.assertTrue(neighbor.contains(edge[0]));
+            Assert.assertTrue(neighbor.contains(edge[1]));
+        }
+    }
+
+    @Test
+    public void testVisibleChunksReachThePixelSize() {
+        final Paving paving = new Paving();
+        final List<Chunk> visible = paving.getVisibleChunks(Projection.POINCARE, 250, 2);
+        Assert.assertEquals(paving.centerChunk, visible.get(0));
+        Assert.assertEquals(visible.size(), new HashSet<>(visible).size());
+        Assert.assertTrue(visible.containsAll(paving.getAllNeighbors(3)));
+
+        // Every neighbor of a chunk still larger than the threshold is visible
+        final Set<Chunk> set = new HashSet<>(visible);
+        for (final Chunk chunk : visible) {
+            double size = 0;
+            for (final Point a : chunk.getVertices()) {
+                for (final Point b : chunk.getVertices()) {
+                    size = Math.max(size, Math.max(Math.abs(a.x - b.x), Math.abs(a.y - b.y)));
+                }
+            }
+            if (size * 250 >= 2) {
+                for (final Direction direction : Direction.values()) {
+                    Assert.assertTrue(set.contains(chunk.getNeighbors(direction)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testVisibleChunksShrinkWithTheThreshold() {
+        final Paving paving = new Paving();
+        final int fine = paving.getVisibleChunks(Projection.KLEIN, 250, 2).size();
+        final int coarse = paving.getVisibleChunks(Projection.KLEIN, 250, 20).size();
+        Assert.assertTrue(coarse < fine);
+    }
+
+    @Test
+    public void testVisibleChunksAreBoundedByTheLimit() {
+        // The gnomonic projection never shrinks the chunks along the rim
+        final Paving paving = new Paving();
+        final List<Chunk> visible = paving.getVisibleChunks(Projection.GNOMONIC, 250, 2);
+        Assert.assertEquals(Paving.DEFAULT_MAX_VISIBLE_CHUNKS, visible.size());
+
+        // The limit keeps the chunks closest to the center
+        final List<Chunk> limited = paving.getVisibleChunks(Projection.GNOMONIC, 250, 2, 100);
+        Assert.assertEquals(100, limited.size());
+        Assert.assertEquals(visible.subList(0, 100), limited);
+        Assert.assertTrue(limited.containsAll(paving.getAllNeighbors(2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVisibleChunksNeedAPositiveLimit() {
+        new Paving().getVisibleChunks(Projection.POINCARE, 250, 2, 0);
+    }
+}
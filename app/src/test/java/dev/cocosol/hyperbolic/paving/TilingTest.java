@@ -0,0 +1,259 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.paving;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Distance;
+import dev.cocosol.hyperbolic.Geodesic;
+import dev.cocosol.hyperbolic.transformation.Reflexion;
+
+public class TilingTest {
+
+    private static final Tiling[] TILINGS = { Tiling.of(5, 4), Tiling.of(4, 6), Tiling.of(7, 3) };
+
+    private static final int DEPTH = 4;
+
+    private static final int WALK = 3000;
+
+    private static final int GRID = 10;
+
+    private static final long BUILD_BUDGET_MS = 200;
+
+    /**
+     * Builds the rings of tile centers by reflecting the tiles across their edges,
+     * without any address.
+     */
+    private static List<List<Point>> bruteForceRings(final Tiling tiling, final int depth) {
+        final List<List<Point>> rings = new ArrayList<>();
+        final List<Point> seen = new ArrayList<>(List.of(Point.ORIGIN));
+        rings.add(List.of(Point.ORIGIN));
+
+        List<List<Point>> frontier = List.of(tiling.getOriginVertices());
+        for (int k = 0; k < depth; k++) {
+            final List<List<Point>> next = new ArrayList<>();
+            final List<Point> ring = new ArrayList<>();
+            for (final List<Point> polygon : frontier) {
+                for (int i = 0; i < polygon.size(); i++) {
+                    final Reflexion reflexion = new Reflexion(
+                            Geodesic.fromTwoPoints(polygon.get(i), polygon.get((i + 1) % polygon.size())));
+                    final List<Point> reflected = new ArrayList<>();
+                    for (final Point vertex : polygon) {
+                        reflected.add(reflexion.apply(vertex));
+                    }
+                    final Point center = TilingTest.center(reflected);
+                    if (!seen.contains(center)) {
+                        seen.add(center);
+                        ring.add(center);
+                        next.add(reflected);
+                    }
+                }
+            }
+            rings.add(ring);
+            frontier = next;
+        }
+        return rings;
+    }
+
+    /**
+     * Returns the center of a regular polygon: the average of its vertices on the
+     * hyperboloid, projected back to the disk.
+     */
+    private static Point center(final List<Point> polygon) {
+        double x = 0;
+        double y = 0;
+        double t = 0;
+        for (final Point p : polygon) {
+            final double scale = 1 / (1 - p.x * p.x - p.y * p.y);
+            x += 2 * p.x * scale;
+            y += 2 * p.y * scale;
+            t += (1 + p.x * p.x + p.y * p.y) * scale;
+        }
+        final double norm = Math.sqrt(t * t - x * x - y * y);
+        return new Point(x / (norm + t), y / (norm + t));
+    }
+
+    private static Point center(final Chunk chunk) {
+        return chunk.getPlacement().apply(Point.ORIGIN);
+    }
+
+    /**
+     * Returns the only edge of a chunk leading to another one, found from the
+     * addresses alone.
+     */
+    private static int edgeTo(final Chunk chunk, final Chunk neighbor) {
+        int found = -1;
+        for (int edge = 0; edge < chunk.getTiling().getP(); edge++) {
+            if (chunk.getNeighbors(edge).equals(neighbor)) {
+                Assert.assertEquals(chunk + " " + neighbor, -1, found);
+                found = edge;
+            }
+        }
+        Assert.assertTrue(chunk + " " + neighbor, found >= 0);
+        return found;
+    }
+
+    /**
+     * Walks at random from the origin, checking that each crossing leads back and
+     * that the tiles around each vertex close after q crossings.
+     */
+    private static Chunk walk(final Tiling tiling, final int steps, final Random random) {
+        Chunk chunk = Chunk.origin(tiling);
+        for (int step = 0; step < steps; step++) {
+            final int edge = random.nextInt(tiling.getP());
+            final Chunk neighbor = chunk.getNeighbors(edge);
+            TilingTest.edgeTo(neighbor, chunk);
+
+            // The tiles around the vertex ending the edge close after q crossings
+            Chunk around = chunk;
+            int crossed = edge;
+            for (int k = 0; k < tiling.getQ(); k++) {
+                final Chunk next = around.getNeighbors(crossed);
+                crossed = Math.floorMod(TilingTest.edgeTo(next, around) - 1, tiling.getP());
+                around = next;
+            }
+            Assert.assertEquals(tiling + " " + chunk, chunk, around);
+            chunk = neighbor;
+        }
+        return chunk;
+    }
+
+    @Test
+    public void testDefaultTilingKeepsItsRings() {
+        final Neighborhood neighborhood = new Neighborhood(Chunk.origin(Tiling.of(4, 5)), 3);
+        Assert.assertSame(Tiling.DEFAULT, neighborhood.getCenter().getTiling());
+        Assert.assertEquals(1 + 4 + 12 + 28, neighborhood.getAdded().size());
+    }
+
+    @Test
+    public void testRingsMatchTheReflectedTiles() {
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            final List<List<Point>> expected = TilingTest.bruteForceRings(tiling, TilingTest.DEPTH);
+            final Neighborhood neighborhood = new Neighborhood(Chunk.origin(tiling), TilingTest.DEPTH);
+            for (int k = 0; k <= TilingTest.DEPTH; k++) {
+                final List<Chunk> ring = neighborhood.getRings().get(k);
+                Assert.assertEquals(tiling + " ring " + k, expected.get(k).size(), ring.size());
+                for (final Chunk chunk : ring) {
+                    Assert.assertTrue(tiling + " " + chunk, expected.get(k).contains(TilingTest.center(chunk)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDistinctAddressesAreDistinctTiles() {
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            final Neighborhood neighborhood = new Neighborhood(Chunk.origin(tiling), TilingTest.DEPTH);
+            final List<Point> centers = new ArrayList<>();
+            final HashSet<ChunkAddress> addresses = new HashSet<>();
+            for (final List<Chunk> ring : neighborhood.getRings()) {
+                for (final Chunk chunk : ring) {
+                    Assert.assertFalse(tiling + " " + chunk, centers.contains(TilingTest.center(chunk)));
+                    centers.add(TilingTest.center(chunk));
+                    addresses.add(chunk.getAddress());
+                }
+            }
+            Assert.assertEquals(centers.size(), addresses.size());
+        }
+    }
+
+    @Test
+    public void testNeighborsShareAnEdge() {
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            final Neighborhood neighborhood = new Neighborhood(Chunk.origin(tiling), 3);
+            for (final List<Chunk> ring : neighborhood.getRings()) {
+                for (final Chunk chunk : ring) {
+                    for (int edge = 0; edge < tiling.getP(); edge++) {
+                        final Chunk neighbor = chunk.getNeighbors(edge);
+                        final Point[] shared = chunk.getEdgePoints(edge);
+                        final int back = neighbor.getEdgeFromPoints(shared[1], shared[0]);
+                        Assert.assertTrue(tiling + " " + chunk + " " + edge, back >= 0);
+                        Assert.assertEquals(chunk, neighbor.getNeighbors(back));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFrameOnlyDependsOnTheAddress() {
+        final Random random = new Random(3);
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            for (int walk = 0; walk < 20; walk++) {
+                Chunk chunk = Chunk.origin(tiling);
+                for (int step = 0; step < 12; step++) {
+                    chunk = chunk.getNeighbors(random.nextInt(tiling.getP()));
+                }
+                final Point expected = tiling.world(chunk.getAddress()).apply(tiling.vertex(0));
+                Assert.assertEquals(expected, chunk.getVertices().get(0));
+            }
+        }
+    }
+
+    @Test
+    public void testWalksFarFromTheOrigin() {
+        final Random random = new Random(5);
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            final Chunk chunk = TilingTest.walk(tiling, TilingTest.WALK, random);
+            Assert.assertTrue(tiling.toString(), chunk.getAddress().length() > TilingTest.WALK / 4);
+        }
+    }
+
+    @Test
+    public void testEveryTilingIsBuiltWithinBudget() {
+        final Random random = new Random(7);
+        for (int p = 3; p <= TilingTest.GRID; p++) {
+            for (int q = 3; q <= TilingTest.GRID; q++) {
+                if ((p - 2) * (q - 2) <= 4) {
+                    continue;
+                }
+                final long start = System.nanoTime();
+                final Tiling tiling = Tiling.of(p, q);
+                final long elapsed = (System.nanoTime() - start) / 1_000_000;
+                Assert.assertTrue(tiling + " took " + elapsed + " ms", elapsed < TilingTest.BUILD_BUDGET_MS);
+                Assert.assertTrue(tiling.toString(), TreeAutomaton.of(p, q).size() <= 2 * (q - 2) * (q - 2));
+
+                final List<List<Point>> expected = TilingTest.bruteForceRings(tiling, 2);
+                final Neighborhood neighborhood = new Neighborhood(Chunk.origin(tiling), 2);
+                for (int k = 0; k <= 2; k++) {
+                    Assert.assertEquals(tiling + " ring " + k, expected.get(k).size(),
+                            neighborhood.getRings().get(k).size());
+                    for (final Chunk chunk : neighborhood.getRings().get(k)) {
+                        Assert.assertTrue(tiling + " " + chunk, expected.get(k).contains(TilingTest.center(chunk)));
+                    }
+                }
+                TilingTest.walk(tiling, 200, random);
+            }
+        }
+    }
+
+    @Test
+    public void testEdgeLengthMatchesTheVertices() {
+        for (final Tiling tiling : TilingTest.TILINGS) {
+            final Point[] edge = Chunk.origin(tiling).getEdgePoints(0);
+            Assert.assertEquals(tiling.toString(), Distance.hyperbolicDistance(edge[0], edge[1]),
+                    tiling.getEdgeLength(), 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEuclideanTilingIsRejected() {
+        Tiling.of(4, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownEdge() {
+        Chunk.origin(Tiling.of(5, 4)).getNeighbors(5);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * SPDX-License-Identifier: GPL-3.0-or-later
+ * Copyright (C) 2025 CoCoSol - Hyper
+ * Copyright (C) 2025 Plouf-Charles - Hyper
+ */
+
+package dev.cocosol.hyperbolic.transformation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import dev.cocosol.Complex;
+import dev.cocosol.Point;
+import dev.cocosol.hyperbolic.Geodesic;
+
+public class IsometryTest {
+
+    private static final Point[] POINTS = {
+            new Point(0, 0), new Point(0.3, 0.4), new Point(-0.5, 0.1), new Point(0.7, -0.6), new Point(-0.2, -0.9)
+    };
+
+    private static void assertSamePoint(final Point expected, final Point actual) {
+        Assert.assertEquals(expected.x, actual.x, 1e-9);
+        Assert.assertEquals(expected.y, actual.y, 1e-9);
+    }
+
+    @Test
+    public void testIdentity() {
+        for (final Point p : IsometryTest.POINTS) {
+            IsometryTest.assertSamePoint(p, Isometry.IDENTITY.apply(p));
+        }
+    }
+
+    @Test
+    public void testRotationAsIsometry() {
+        final Rotation rotation = new Rotation(1.2);
+        final Isometry isometry = rotation.toIsometry();
+        Assert.assertFalse(isometry.isReflection());
+        for (final Point p : IsometryTest.POINTS) {
+            IsometryTest.assertSamePoint(rotation.apply(p), isometry.apply(p));
+        }
+    }
+
+    @Test
+    public void testTranslationAsIsometry() {
+        final Translation translation = new Translation(new Point(0.2, -0.35));
+        final Isometry isometry = translation.toIsometry();
+        Assert.assertFalse(isometry.isReflection());
+        for (final Point p : IsometryTest.POINTS) {
+            IsometryTest.assertSamePoint(translation.apply(p), isometry.apply(p));
+        }
+    }
+
+    @Test
+    public void testReflexionAsIsometry() {
+        final Reflexion circle = new Reflexion(Geodesic.fromTwoPoints(new Point(0.3, 0.4), new Point(-0.2, 0.5)));
+        final Reflexion diameter = new Reflexion(Geodesic.fromTwoPoints(new Point(0.3, 0.1), new Point(-0.6, -0.2)));
+        for (final Reflexion reflexion : new Reflexion[] { circle, diameter }) {
+            final Isometry isometry = reflexion.toIsometry();
+            Assert.assertTrue(isometry.isReflection());
+            for (final Point p : IsometryTest.POINTS) {
+                IsometryTest.assertSamePoint(reflexion.apply(p), isometry.apply(p));
+            }
+        }
+    }
+
+    @Test
+    public void testReflectionAcrossDiameter() {
+        final Isometry isometry = Isometry.reflection(Math.PI / 4);
+        IsometryTest.assertSamePoint(new Point(0.2, 0.5), isometry.apply(new Point(0.5, 0.2)));
+        IsometryTest.assertSamePoint(new Point(0.3, 0.3), isometry.apply(new Point(0.3, 0.3)));
+    }
+
+    @Test
+    public void testComposeAppliesTheArgumentFirst() {
+        final Isometry first = new Reflexion(Geodesic.fromTwoPoints(new Point(0.3, 0.4), new Point(-0.2, 0.5)))
+                .toIsometry();
+        final Isometry second = new Translation(new Point(-0.1, 0.6)).toIsometry();
+        final Isometry third = Isometry.reflection(0.7);
+
+        final Isometry composed = third.compose(second).compose(first);
+        Assert.assertFalse(composed.isReflection());
+        for (final Point p : IsometryTest.POINTS) {
+            IsometryTest.assertSamePoint(third.apply(second.apply(first.apply(p))), composed.apply(p));
+        }
+    }
+
+    @Test
+    public void testInverse() {
+        final Isometry rigid = new Translation(new Point(0.4, 0.1)).toIsometry().compose(new Rotation(2).toIsometry());
+        final Isometry mirror = rigid.compose(Isometry.reflection(0.3));
+        for (final Isometry isometry : new Isometry[] { rigid, mirror }) {
+            for (final Point p : IsometryTest.POINTS) {
+                IsometryTest.assertSamePoint(p, isometry.inverse().apply(isometry.apply(p)));
+                IsometryTest.assertSamePoint(p, isometry.compose(isometry.inverse()).apply(p));
+            }
+        }
+    }
+
+    @Test
+    public void testFromMatrixScalesTheDeterminant() {
+        final Complex a = new Complex(3, 1);
+        final Complex b = new Complex(-1, 2);
+        final Isometry scaled = Isometry.fromMatrix(a.scale(5), b.scale(5), b.conjugate().scale(5),
+                a.conjugate().scale(5), false);
+        final Isometry plain = Isometry.fromMatrix(a, b, b.conjugate(), a.conjugate(), false);
+        for (final Point p : IsometryTest.POINTS) {
+            IsometryTest.assertSamePoint(plain.apply(p), scaled.apply(p));
+            IsometryTest.assertSamePoint(p, plain.normalize().inverse().apply(plain.apply(p)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSingularMatrix() {
+        Isometry.fromMatrix(Complex.ONE, Complex.ONE, Complex.ONE, Complex.ONE, false);
+    }
+
+    @Test
+    public void testDisplacement() {
+        Assert.assertEquals(0, new Rotation(1).toIsometry().displacement(), 1e-9);
+        // The distance from the origin to a point at Euclidean radius 1/2 is ln 3
+        final Isometry translation = new Translation(new Point(0, 0.5)).toIsometry();
+        Assert.assertEquals(Math.log(3), translation.displacement(), 1e-9);
+        Assert.assertEquals(Math.cosh(Math.log(3)), translation.coshDisplacement(), 1e-9);
+    }
+
+    @Test
+    public void testCoshDisplacementKeepsItsPrecisionFarAway() {
+        // 40 steps of ln 3 put the image of the origin within 1e-18 of the circle
+        final Isometry step = new Translation(new Point(0, 0.5)).toIsometry();
+        Isometry far = Isometry.IDENTITY;
+        for (int i = 0; i < 40; i++) {
+            far = far.compose(step);
+        }
+        Assert.assertEquals(40 * Math.log(3), Math.log(2 * far.coshDisplacement()), 1e-9);
+        Assert.assertNotEquals(40 * Math.log(3), far.displacement(), 1);
+    }
+
+    @Test
+    public void testApplyKleinMatchesThePoincareDisk() {
+        final Isometry translation = new Translation(new Point(0.2, -0.35)).toIsometry();
+        final Isometry reflection = new Reflexion(Geodesic.fromTwoPoints(new Point(0.3, 0.4), new Point(-0.2, 0.5)))
+                .toIsometry();
+        final Isometry[][] pairs = {
+                { translation, reflection }, { reflection, translation }, { new Rotation(0.7).toIsometry(),
+                        Isometry.IDENTITY } };
+        for (final Isometry[] pair : pairs) {
+            final double[] xs = new double[IsometryTest.POINTS.length];
+            final double[] ys = new double[IsometryTest.POINTS.length];
+            for (int i = 0; i < xs.length; i++) {
+                final Point klein = IsometryTest.POINTS[i].toKleinModel();
+                xs[i] = klein.x;
+                ys[i] = klein.y;
+            }
+            pair[0].applyKlein(pair[1], xs, ys, xs.length);
+            for (int i = 0; i < xs.length; i++) {
+                final Point expected = pair[0].compose(pair[1]).apply(IsometryTest.POINTS[i]).toKleinModel();
+                IsometryTest.assertSamePoint(expected, new Point(xs[i], ys[i]));
+            }
+        }
+    }
+}